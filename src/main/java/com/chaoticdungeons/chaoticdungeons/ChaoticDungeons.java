@@ -1,11 +1,27 @@
 // src/main/java/com/chaoticdungeons/chaoticdungeons/ChaoticDungeons.java
 package com.chaoticdungeons.chaoticdungeons;
 
-import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonRegistry; // Keep the import, but we won't call loadDungeonData directly
+import com.chaoticdungeons.chaoticdungeons.commands.ChaoticDungeonsCommand;
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import com.chaoticdungeons.chaoticdungeons.diagnostics.ActivationJournal;
+import com.chaoticdungeons.chaoticdungeons.diagnostics.StressHarness;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonRegistry;
+import com.chaoticdungeons.chaoticdungeons.expiry.GateExpiryQueue;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonInstanceListener;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonOccupancy;
+import com.chaoticdungeons.chaoticdungeons.handlers.JigsawPlacementQueue;
+import com.chaoticdungeons.chaoticdungeons.network.ModNetwork;
 import com.chaoticdungeons.chaoticdungeons.registration.ModRegisters;
+import com.chaoticdungeons.chaoticdungeons.selectors.PositionSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.SearchController;
+import com.chaoticdungeons.chaoticdungeons.selectors.SlotLedger;
 import com.mojang.logging.LogUtils;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import org.slf4j.Logger;
@@ -37,6 +53,31 @@ public class ChaoticDungeons {
 
         // Register all deferred registers for blocks, items, and block entities
         ModRegisters.register(modEventBus);
+
+        // Register the server config (per world, in serverconfig/)
+        ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, ChaoticDungeonsConfig.SERVER_SPEC);
+
+        registerListeners(modEventBus, MinecraftForge.EVENT_BUS);
+    }
+
+    /**
+     * Registers the game event listeners. Every listener is registered exactly once, here; services never
+     * register themselves, so nothing is added to the event buses per activation.
+     *
+     * @param modEventBus The mod event bus.
+     * @param forgeEventBus The Forge (game) event bus.
+     */
+    static void registerListeners(IEventBus modEventBus, IEventBus forgeEventBus) {
+        PositionSelector.register(modEventBus, forgeEventBus);
+        forgeEventBus.addListener(DungeonRegistry::onAddReloadListeners);
+        forgeEventBus.addListener(ChaoticDungeonsCommand::register);
+        forgeEventBus.addListener(ChaoticDungeons::onServerStopped);
+        DungeonInstanceListener.register(forgeEventBus);
+        DungeonOccupancy.register(forgeEventBus);
+        forgeEventBus.addListener(GateExpiryQueue::onLevelTick);
+        forgeEventBus.addListener(JigsawPlacementQueue::onServerTick);
+        forgeEventBus.addListener(StressHarness::onServerTick);
+        forgeEventBus.addListener(StressHarness::onServerStopping);
     }
 
     /**
@@ -47,9 +88,24 @@ public class ChaoticDungeons {
      */
     private void commonSetup(final FMLCommonSetupEvent event) {
         LOGGER.info("Chaotic Dungeons: Common setup started.");
+        event.enqueueWork(ModNetwork::register);
         // The DungeonRegistry handles its own data loading via the resource reload system.
         // No need to manually call loadDungeonData() here.
-        // It's already registered as a reload listener via AddReloadListenerEvent.
+        // It is added as a reload listener through AddReloadListenerEvent, registered in the constructor.
         LOGGER.info("Chaotic Dungeons: Common setup finished.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Releases per-server resources when the server stops.
+     *
+     * @param event The ServerStoppedEvent instance.
+     */
+    private static void onServerStopped(final ServerStoppedEvent event) {
+        ActivationJournal.close();
+        GateExpiryQueue.clear();
+        DungeonOccupancy.clear();
+        SearchController.clear();
+        JigsawPlacementQueue.clear();
+        SlotLedger.close();
+    }
+}
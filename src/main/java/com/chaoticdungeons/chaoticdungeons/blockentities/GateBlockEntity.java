@@ -2,32 +2,47 @@
 package com.chaoticdungeons.chaoticdungeons.blockentities;
 
 import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.diagnostics.ActivationJournal;
 import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonData;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonIdMap;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonInstance;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonInstanceManager;
+import com.chaoticdungeons.chaoticdungeons.dungeons.JigsawPlanner;
+import com.chaoticdungeons.chaoticdungeons.expiry.GateExpiryQueue;
+import com.chaoticdungeons.chaoticdungeons.handlers.ActivationPipeline;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonChunkTickets;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonOccupancy;
+import com.chaoticdungeons.chaoticdungeons.handlers.JigsawPlacementQueue;
 import com.chaoticdungeons.chaoticdungeons.handlers.StructureSummoner;
 import com.chaoticdungeons.chaoticdungeons.handlers.TeleportHandler;
 import com.chaoticdungeons.chaoticdungeons.items.keys.BaseKeyItem;
+import com.chaoticdungeons.chaoticdungeons.network.GateStatePacket;
+import com.chaoticdungeons.chaoticdungeons.network.ModNetwork;
 import com.chaoticdungeons.chaoticdungeons.registration.ModRegisters;
 import com.chaoticdungeons.chaoticdungeons.selectors.DungeonSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.NaturalStructureSelector;
 import com.chaoticdungeons.chaoticdungeons.selectors.PositionSelector;
+import net.minecraft.Util;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.network.protocol.Packet;
-import net.minecraft.network.protocol.game.ClientGamePacketListener;
-import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.Explosion; // Ensure this import is present for Explosion.BlockInteraction
-import net.minecraft.world.level.Explosion.BlockInteraction; // Explicitly import BlockInteraction
-import net.minecraft.world.level.ExplosionDamageCalculator;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Block Entity for Gate Blocks.
@@ -39,22 +54,141 @@ public class GateBlockEntity extends BlockEntity {
 
     private static final int ACTIVATION_TIMER_SECONDS = 20;
     private static final int TICKS_PER_SECOND = 20;
+    private static final int CLIENT_WARNING_TICKS = 5 * TICKS_PER_SECOND; // Last seconds get denser particles
+    private static final double PARTY_RADIUS = 8.0D; // Players this close to the gate travel with the activating player
+    private static final int MAX_PARTY_SIZE = 16;
 
     private boolean isActive;
     private int activationTimer; // In ticks
-    private BlockPos generatedDungeonPos;
-    private String selectedDungeonStructure;
-    private String selectedDungeonType;
+    private long generatedDungeonPos; // BlockPos.asLong(); only meaningful while active
+    private int selectedDungeonStructureId; // DungeonIdMap id, 0 if none
+    private int selectedDungeonTypeId; // DungeonIdMap id, 0 if none
     private int selectedDungeonDifficulty;
+    private int dungeonInstanceId; // DungeonInstanceManager id, 0 if none
+    // Chunks kept loaded for the dungeon while the gate is active; released at teardown.
+    @Nullable
+    private DungeonChunkTickets.Area chunkTicket;
+    // Bounds of the dungeon while the gate is active; indexed in DungeonOccupancy.
+    @Nullable
+    private BoundingBox dungeonBounds;
+
+    // Strings read from a save written before ids existed; converted to ids once the gate has a level.
+    @Nullable
+    private String legacyDungeonStructure;
+    @Nullable
+    private String legacyDungeonType;
+
+    // Set while the activation pipeline is running; persisted so it survives chunk unloads.
+    @Nullable
+    private ActivationPipeline.ActivationRequest pendingActivation;
+    // The in-flight pipeline or placement for the pending activation. Not persisted: a reloaded gate restarts
+    // the pipeline, or picks up its placement if it got that far.
+    @Nullable
+    private CompletableFuture<Void> pendingFuture;
+    // Jigsaw dungeon claimed for the pending activation while its pieces are placed; persisted so that a reloaded
+    // gate waits for the same placement instead of planning (and claiming) another dungeon.
+    @Nullable
+    private PendingPlacement pendingPlacement;
+    // Layout of the active dungeon if it is a lazy jigsaw dungeon; persisted so that its waiting rooms survive a restart.
+    @Nullable
+    private LazyLayout lazyLayout;
+    // Whether the waiting rooms of the lazy dungeon were looked up in the queue since the gate was loaded. Not persisted.
+    private boolean lazyRoomsResumed;
+
+    // Dungeon site claimed speculatively when the gate was placed; persisted until used or cancelled.
+    @Nullable
+    private BlockPos reservedSite;
+    // The in-flight site search for the reservation. Not persisted: an unloaded gate simply goes without one.
+    @Nullable
+    private CompletableFuture<Void> reservationFuture;
+
+    // Client-side expiry time, synced through GateStatePacket.
+    private long clientExpiryGameTime;
+
+    /**
+     * A jigsaw dungeon claimed for the pending activation whose pieces are still being placed.
+     *
+     * @param structure The dungeon's structure id.
+     * @param site The claimed dungeon site.
+     * @param entrance The planned entrance; identifies the placement in the {@link JigsawPlacementQueue}.
+     * @param bounds The bounds of the planned layout.
+     */
+    private record PendingPlacement(String structure, BlockPos site, BlockPos entrance, BoundingBox bounds) {
+
+        CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putString("Structure", structure);
+            tag.putLong("Site", site.asLong());
+            tag.putLong("Entrance", entrance.asLong());
+            tag.putIntArray("Bounds", new int[]{bounds.minX(), bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), bounds.maxZ()});
+            return tag;
+        }
+
+        static PendingPlacement load(CompoundTag tag) {
+            int[] b = tag.getIntArray("Bounds");
+            return new PendingPlacement(tag.getString("Structure"), BlockPos.of(tag.getLong("Site")), BlockPos.of(tag.getLong("Entrance")),
+                    new BoundingBox(b[0], b[1], b[2], b[3], b[4], b[5]));
+        }
+    }
+
+    /**
+     * The layout of an active lazy jigsaw dungeon. The {@link JigsawPlacementQueue} does not survive a restart; this is
+     * what the gate needs to plan the layout again and queue the rooms that were still waiting.
+     *
+     * @param site The dungeon site the layout was planned for.
+     * @param token The token of the activation; the layout's seed.
+     * @param placed The indices of the rooms placed so far, in the layout's piece list.
+     */
+    private record LazyLayout(BlockPos site, long token, BitSet placed) {
+
+        CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putLong("Site", site.asLong());
+            tag.putLong("Token", token);
+            tag.putLongArray("Placed", placed.toLongArray());
+            return tag;
+        }
+
+        static LazyLayout load(CompoundTag tag) {
+            return new LazyLayout(BlockPos.of(tag.getLong("Site")), tag.getLong("Token"), BitSet.valueOf(tag.getLongArray("Placed")));
+        }
+    }
 
     public GateBlockEntity(BlockPos p_155229_, BlockState p_155230_) {
         super(ModRegisters.GATE_BLOCK_ENTITY.get(), p_155229_, p_155230_);
         this.isActive = false;
         this.activationTimer = 0;
-        this.generatedDungeonPos = null;
-        this.selectedDungeonStructure = "";
-        this.selectedDungeonType = "";
+        this.generatedDungeonPos = 0L;
+        this.selectedDungeonStructureId = 0;
+        this.selectedDungeonTypeId = 0;
         this.selectedDungeonDifficulty = 0;
+        this.dungeonInstanceId = 0;
+    }
+
+    /**
+     * Converts string ids from saves written before the id table existed, and restores the dungeon's chunk ticket
+     * and its entry in the occupancy index.
+     * Called by Forge once the block entity has been added to its level.
+     */
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (chunkTicket != null && level instanceof ServerLevel serverLevel) {
+            // Tickets are not saved with the world; re-add the dungeon's after a restart
+            DungeonChunkTickets.hold(serverLevel, chunkTicket);
+        }
+        if (isActive && dungeonBounds != null && level instanceof ServerLevel serverLevel) {
+            DungeonOccupancy.add(serverLevel, getBlockPos(), dungeonBounds);
+        }
+        if (legacyDungeonStructure != null && level instanceof ServerLevel serverLevel) {
+            DungeonIdMap ids = DungeonIdMap.get(serverLevel.getServer());
+            this.selectedDungeonStructureId = ids.getOrAssign(legacyDungeonStructure);
+            this.selectedDungeonTypeId = ids.getOrAssign(legacyDungeonType);
+            this.legacyDungeonStructure = null;
+            this.legacyDungeonType = null;
+            this.setChanged(); // Rewrite the chunk in the compact format
+            ChaoticDungeons.LOGGER.debug("GateBlockEntity at {} migrated to dungeon ids.", getBlockPos());
+        }
     }
 
     /**
@@ -68,26 +202,67 @@ public class GateBlockEntity extends BlockEntity {
      */
     public static void tick(Level level, BlockPos pos, BlockState state, GateBlockEntity blockEntity) {
         if (!level.isClientSide()) {
+            if (blockEntity.pendingActivation != null && blockEntity.pendingFuture == null) {
+                // Loaded with a persisted pending activation: resume it.
+                ChaoticDungeons.LOGGER.debug("GateBlock at {} resuming pending activation.", pos);
+                if (blockEntity.pendingPlacement != null) {
+                    blockEntity.resumeJigsawPlacement((ServerLevel) level);
+                } else {
+                    blockEntity.startActivationPipeline((ServerLevel) level);
+                }
+            }
+            if (blockEntity.isActive && blockEntity.lazyLayout != null && !blockEntity.lazyRoomsResumed) {
+                blockEntity.resumeLazyRooms((ServerLevel) level);
+            }
             if (blockEntity.isActive) {
                 blockEntity.activationTimer--;
                 if (blockEntity.activationTimer <= 0) {
-                    blockEntity.explodeBlock();
-                    blockEntity.isActive = false; // Deactivate after explosion
+                    ChaoticDungeons.LOGGER.debug("GateBlock at {} timer expired, queueing expiry.", pos);
+                    blockEntity.journal((ServerLevel) level, ActivationJournal.Kind.EXPIRED, blockEntity.getGeneratedDungeonPos(), null, blockEntity.getSelectedDungeonStructure(), 0L, 0L, 0L, 0L);
+                    blockEntity.releaseDungeonInstance((ServerLevel) level);
+                    blockEntity.releaseChunkTicket((ServerLevel) level);
+                    blockEntity.cancelPendingRooms((ServerLevel) level);
+                    // Removed at the end of the tick, together with every other gate expiring in it
+                    GateExpiryQueue.schedule((ServerLevel) level, pos);
+                    blockEntity.isActive = false;
                     blockEntity.setChanged(); // Mark for saving - FIX: Changed setDirty() to setChanged()
-                    ChaoticDungeons.LOGGER.info("GateBlock at {} timer expired, triggering explosion.", pos);
                 }
             }
+        } else if (blockEntity.isActive) {
+            blockEntity.clientTick(level, pos);
+        }
+    }
+
+    /**
+     * Client-side countdown effects, driven entirely by the synced expiry time.
+     * Particles get denser as the gate approaches expiry.
+     *
+     * @param level The client level.
+     * @param pos The position of the gate.
+     */
+    private void clientTick(Level level, BlockPos pos) {
+        long remaining = clientExpiryGameTime - level.getGameTime();
+        if (remaining <= 0) {
+            return;
+        }
+        int interval = remaining < CLIENT_WARNING_TICKS ? 1 : 10;
+        if (level.getGameTime() % interval == 0) {
+            RandomSource random = level.getRandom();
+            level.addParticle(ParticleTypes.PORTAL,
+                    pos.getX() + random.nextDouble(), pos.getY() + 1.0, pos.getZ() + random.nextDouble(),
+                    (random.nextDouble() - 0.5) * 0.5, -random.nextDouble(), (random.nextDouble() - 0.5) * 0.5);
         }
     }
 
     /**
      * Attempts to activate the gate block.
      * This method is called when a player interacts with the gate block using a key.
-     * It handles key validation, dungeon selection, generation, and player teleportation.
+     * It handles key validation and starts the staged activation pipeline; dungeon generation and
+     * player teleportation happen once the pipeline's plan is committed on a later tick.
      *
      * @param player The server player interacting with the block.
      * @param key The key item used by the player.
-     * @return True if activation was successful, false otherwise.
+     * @return True if the activation was accepted (or the player was sent to the active dungeon), false otherwise.
      */
     public boolean activate(ServerPlayer player, BaseKeyItem key) {
         if (level == null || level.isClientSide()) {
@@ -99,175 +274,785 @@ public class GateBlockEntity extends BlockEntity {
         // If already active and the player uses the same key, teleport them to the existing dungeon.
         if (isActive) {
             // Check if the key matches the currently active dungeon's type and difficulty requirements
-            if (key.getOpensDungeonType().equals(this.selectedDungeonType) && key.getOpensDungeonDifficulty() >= this.selectedDungeonDifficulty) {
-                ChaoticDungeons.LOGGER.info("Player {} re-activating existing gate at {}. Teleporting to dungeon at {}", player.getName().getString(), getBlockPos(), this.generatedDungeonPos);
-                // Teleport player to the already generated dungeon
-                TeleportHandler teleportHandler = new TeleportHandler(this.generatedDungeonPos);
-                teleportHandler.handleTeleport(player, serverLevel);
+            int keyTypeId = DungeonIdMap.get(serverLevel.getServer()).getId(key.getOpensDungeonType());
+            if (keyTypeId == this.selectedDungeonTypeId && key.getOpensDungeonDifficulty() >= this.selectedDungeonDifficulty) {
+                BlockPos dungeonPos = getGeneratedDungeonPos();
+                ChaoticDungeons.LOGGER.debug("Player {} re-activating existing gate at {}. Teleporting to dungeon at {}", player.getScoreboardName(), getBlockPos(), dungeonPos);
+                // Teleport the player and their party to the already generated dungeon
+                TeleportHandler.warmUpAndTeleport(collectParty(serverLevel, player), serverLevel, dungeonPos, List.of());
                 return true;
             } else {
                 ChaoticDungeons.LOGGER.warn("Player {} tried to re-activate gate at {} with incompatible key ({}). Requires type: {}, difficulty: {}",
-                        player.getName().getString(), getBlockPos(), key.getOpensDungeonType(), this.selectedDungeonType, this.selectedDungeonDifficulty);
+                        player.getName().getString(), getBlockPos(), key.getOpensDungeonType(), getSelectedDungeonType(), this.selectedDungeonDifficulty);
                 // Optionally send a message to the player
                 // player.sendSystemMessage(Component.literal("This gate requires a different key."), true);
                 return false;
             }
         }
 
+        if (pendingActivation != null) {
+            ChaoticDungeons.LOGGER.debug("Gate block at {} is already being activated; ignoring key use by {}.", getBlockPos(), player.getScoreboardName());
+            return false;
+        }
+
         // --- First-time activation logic ---
-        ChaoticDungeons.LOGGER.info("Gate block at {} is being activated by player {} with key type: {}, difficulty: {}",
-                getBlockPos(), player.getName().getString(), key.getOpensDungeonType(), key.getOpensDungeonDifficulty());
+        ChaoticDungeons.LOGGER.debug("Gate block at {} is being activated by player {} with key type: {}, difficulty: {}",
+                getBlockPos(), player.getScoreboardName(), key.getOpensDungeonType(), key.getOpensDungeonDifficulty());
+
+        // Selection, template preparation and candidate evaluation run off-thread;
+        // the gate stays pending (and persists that) until the plan is committed.
+        this.pendingActivation = new ActivationPipeline.ActivationRequest(player.getUUID(), key.getOpensDungeonType(), key.getOpensDungeonDifficulty(), serverLevel.getRandom().nextLong());
+        this.setChanged();
+        startActivationPipeline(serverLevel);
+        return true;
+    }
+
+    /**
+     * Starts reserving a dungeon site for this gate in the background. Called when the gate block is placed.
+     * Does nothing if the gate is already in use or has a reservation.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     * @param dungeonType The gate's dungeon type.
+     */
+    public void startReservation(ServerLevel serverLevel, String dungeonType) {
+        if (isActive || pendingActivation != null || reservedSite != null || reservationFuture != null) {
+            return;
+        }
+        BlockPos gatePos = getBlockPos();
+        this.reservationFuture = ActivationPipeline.reserve(serverLevel, dungeonType)
+                .thenAcceptAsync(sites -> {
+                    if (serverLevel.isLoaded(gatePos) && serverLevel.getBlockEntity(gatePos) == this && this.reservationFuture != null) {
+                        completeReservation(serverLevel, sites);
+                    }
+                }, serverLevel.getServer())
+                .exceptionally(throwable -> {
+                    ChaoticDungeons.LOGGER.error("Site reservation for gate at {} failed.", gatePos, throwable);
+                    return null;
+                });
+    }
+
+    /**
+     * Claims the first free site of a finished reservation search and starts generating its chunks.
+     */
+    private void completeReservation(ServerLevel serverLevel, List<BlockPos> sites) {
+        this.reservationFuture = null;
+        if (isActive || pendingActivation != null) {
+            return; // A key was used before the search finished; that activation searches on its own
+        }
+        Optional<BlockPos> site = PositionSelector.selectPosition(serverLevel, sites);
+        if (site.isEmpty()) {
+            return;
+        }
+        this.reservedSite = site.get();
+        this.setChanged();
+        DungeonChunkTickets.pregenerate(serverLevel, reservedSite);
+        ChaoticDungeons.LOGGER.debug("Gate at {} reserved dungeon site {}.", getBlockPos(), reservedSite);
+    }
+
+    /**
+     * Drops this gate's site reservation and frees the site for other dungeons.
+     * Called when the gate is removed, or when an activation ends up using a different site.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    public void cancelReservation(ServerLevel serverLevel) {
+        this.reservationFuture = null;
+        if (this.reservedSite != null) {
+            BlockPos site = this.reservedSite;
+            PositionSelector.releasePosition(serverLevel, site);
+            DungeonChunkTickets.cancelPregenerate(serverLevel, site);
+            this.reservedSite = null;
+            this.setChanged();
+            ChaoticDungeons.LOGGER.debug("Gate at {} released reserved dungeon site {}.", getBlockPos(), site);
+        }
+    }
+
+    /**
+     * Submits the pending activation to the worker stages and schedules the commit on the server thread.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    private void startActivationPipeline(ServerLevel serverLevel) {
+        ActivationPipeline.ActivationRequest request = this.pendingActivation;
+        BlockPos gatePos = getBlockPos();
+        this.pendingFuture = ActivationPipeline.plan(serverLevel, request, reservedSite)
+                .thenAcceptAsync(plan -> completeActivation(serverLevel, gatePos, request, plan), serverLevel.getServer())
+                .exceptionally(throwable -> {
+                    ChaoticDungeons.LOGGER.error("Activation pipeline for gate at {} failed.", gatePos, throwable);
+                    serverLevel.getServer().execute(() -> completeActivation(serverLevel, gatePos, request, Optional.empty()));
+                    return null;
+                });
+    }
 
-        // 1. Select suitable dungeons based on key type and difficulty
-        DungeonSelector dungeonSelector = new DungeonSelector();
-        List<DungeonData> availableDungeons = dungeonSelector.selectDungeons(key.getOpensDungeonType(), key.getOpensDungeonDifficulty());
+    /**
+     * Hands a finished plan to the gate it was built for. Runs on the server thread.
+     * Plans for gates that were unloaded, removed or re-requested in the meantime are dropped;
+     * an unloaded gate restarts its persisted request when it ticks again. A gate that was unloaded and
+     * reloaded while its first pipeline ran takes whichever plan finishes first and drops the other.
+     */
+    private static void completeActivation(ServerLevel serverLevel, BlockPos gatePos, ActivationPipeline.ActivationRequest request,
+                                           Optional<ActivationPipeline.ActivationPlan> plan) {
+        if (!serverLevel.isLoaded(gatePos)) {
+            ChaoticDungeons.LOGGER.debug("Gate at {} unloaded before its activation finished; it will resume on load.", gatePos);
+            return;
+        }
+        if (serverLevel.getBlockEntity(gatePos) instanceof GateBlockEntity gate
+                && gate.pendingActivation != null && gate.pendingActivation.token() == request.token() && gate.pendingPlacement == null) {
+            gate.commitActivation(serverLevel, plan);
+        }
+    }
+
+    /**
+     * Performs the world mutations of an activation: site claiming, structure placement and teleport.
+     * Jigsaw dungeons are placed over several ticks; the gate stays pending until the last piece is down.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     * @param planOptional The plan produced by the worker stages, or empty if they failed.
+     */
+    private void commitActivation(ServerLevel serverLevel, Optional<ActivationPipeline.ActivationPlan> planOptional) {
+        UUID playerId = this.pendingActivation.playerId();
 
-        if (availableDungeons.isEmpty()) {
-            ChaoticDungeons.LOGGER.warn("No suitable dungeons found for key type '{}' and difficulty {}.", key.getOpensDungeonType(), key.getOpensDungeonDifficulty());
+        if (planOptional.isEmpty()) {
+            clearPendingActivation();
             // Optionally send a message to the player: "No dungeons found for this key!"
-            return false;
+            journal(serverLevel, ActivationJournal.Kind.NO_DUNGEON, null, playerId, "", 0L, 0L, 0L, 0L);
+            return;
+        }
+        ActivationPipeline.ActivationPlan plan = planOptional.get();
+        DungeonData chosenDungeon = plan.dungeon();
+
+        if (chosenDungeon.isJigsaw()) {
+            commitJigsawActivation(serverLevel, plan, playerId);
+            return;
         }
+        if (chosenDungeon.isNatural()) {
+            commitNaturalActivation(serverLevel, plan, playerId);
+            return;
+        }
+        clearPendingActivation();
+
+        // 1. Reuse a pooled instance of the chosen dungeon if one is free. Dungeons whose processors read the world
+        // are processed during placement, so no reference of their placed layout exists to reset them to; they are not pooled.
+        // Without an instance, their template places its entities itself and their scheduled ticks are not frozen.
+        long probeNanos = 0L;
+        long placeStart = System.nanoTime();
+        DungeonInstanceManager instances = DungeonInstanceManager.get(serverLevel);
+        boolean pooled = chosenDungeon.processorList() == null || plan.processed() != null;
+        Optional<DungeonInstance> pooledInstance = pooled ? instances.acquire(serverLevel, chosenDungeon.structure()) : Optional.empty();
+        @Nullable
+        DungeonInstance instance;
+        BlockPos dungeonSpawnPos;
+        BoundingBox bounds;
+        List<BlockPos> anchorOffsets;
+        long placeNanos;
 
-        // Randomly select one dungeon from the filtered list
-        DungeonData chosenDungeon = availableDungeons.get(new Random().nextInt(availableDungeons.size()));
-        ChaoticDungeons.LOGGER.debug("Selected dungeon: {} (Type: {}, Difficulty: {})", chosenDungeon.structure(), chosenDungeon.type(), chosenDungeon.difficulty());
+        if (pooledInstance.isPresent()) {
+            cancelReservation(serverLevel); // Nothing is built on the reserved site
+            instance = pooledInstance.get();
+            dungeonSpawnPos = instance.getOrigin();
+            bounds = instance.getBounds();
+            holdChunkTicket(serverLevel, DungeonChunkTickets.Area.of(bounds));
+            anchorOffsets = instance.getRotation() == plan.rotation()
+                    ? plan.anchorOffsets()
+                    : ActivationPipeline.computeAnchorOffsets(plan.template(), instance.getRotation());
+            placeNanos = System.nanoTime() - placeStart;
+        } else {
+            // 2a. Claim the first evaluated site that is still free
+            long probeStart = System.nanoTime();
+            Optional<BlockPos> selectedPos = claimSite(serverLevel, plan);
+            probeNanos = System.nanoTime() - probeStart;
 
-        // 2. Select a suitable position for dungeon generation
-        PositionSelector positionSelector = new PositionSelector();
-        Optional<BlockPos> selectedPos = positionSelector.selectPosition(serverLevel);
+            if (selectedPos.isEmpty()) {
+                journal(serverLevel, ActivationJournal.Kind.NO_SITE, null, playerId, chosenDungeon.structure(), plan.planNanos(), probeNanos, 0L, 0L);
+                return;
+            }
 
+            dungeonSpawnPos = selectedPos.get();
+
+            // 2b. Summon the prepared structure and add it to the pool, if it can be reset
+            placeStart = System.nanoTime();
+            bounds = plan.template().getBoundingBox(StructureSummoner.createPlaceSettings(plan.rotation()), dungeonSpawnPos);
+            holdChunkTicket(serverLevel, DungeonChunkTickets.Area.of(bounds));
+            boolean structureSummoned = StructureSummoner.summonStructure(serverLevel, dungeonSpawnPos, chosenDungeon, plan.template(), plan.rotation(), plan.processed());
+            placeNanos = System.nanoTime() - placeStart;
+
+            if (!structureSummoned) {
+                ChaoticDungeons.LOGGER.error("Failed to summon structure {} at {}.", chosenDungeon.structure(), dungeonSpawnPos);
+                releaseChunkTicket(serverLevel);
+                PositionSelector.releasePosition(serverLevel, dungeonSpawnPos);
+                // Optionally send a message to the player: "Dungeon generation failed!"
+                journal(serverLevel, ActivationJournal.Kind.PLACEMENT_FAILED, dungeonSpawnPos, playerId, chosenDungeon.structure(), plan.planNanos(), probeNanos, placeNanos, 0L);
+                return;
+            }
+            instance = pooled ? instances.register(serverLevel, chosenDungeon.structure(), dungeonSpawnPos, plan.rotation(), plan.processed(), bounds) : null;
+            anchorOffsets = plan.anchorOffsets();
+        }
+
+        List<BlockPos> anchors = anchorOffsets.stream().map(dungeonSpawnPos::offset).toList();
+        finishActivation(serverLevel, playerId, chosenDungeon, dungeonSpawnPos, anchors, bounds, instance == null ? 0 : instance.getId(),
+                pooledInstance.isPresent() ? ActivationJournal.Kind.REUSED : ActivationJournal.Kind.ACTIVATED, plan.planNanos(), probeNanos, placeNanos);
+    }
+
+    /**
+     * Claims a site for a jigsaw dungeon and queues its pieces for placement. Jigsaw dungeons are not pooled:
+     * every activation assembles a new layout. The layout planned on the worker is used if its site could be
+     * claimed; otherwise the layout is planned again for the claimed site.
+     */
+    private void commitJigsawActivation(ServerLevel serverLevel, ActivationPipeline.ActivationPlan plan, UUID playerId) {
+        DungeonData chosenDungeon = plan.dungeon();
+        ActivationPipeline.ActivationRequest request = this.pendingActivation;
+
+        long probeStart = System.nanoTime();
+        Optional<BlockPos> selectedPos = claimSite(serverLevel, plan);
+        long probeNanos = System.nanoTime() - probeStart;
         if (selectedPos.isEmpty()) {
-            ChaoticDungeons.LOGGER.error("Failed to find a suitable position for dungeon generation near {}.", getBlockPos());
-            // Optionally send a message to the player: "Could not find a safe place for a dungeon!"
-            return false;
+            clearPendingActivation();
+            journal(serverLevel, ActivationJournal.Kind.NO_SITE, null, playerId, chosenDungeon.structure(), plan.planNanos(), probeNanos, 0L, 0L);
+            return;
         }
 
-        BlockPos dungeonSpawnPos = selectedPos.get();
-        ChaoticDungeons.LOGGER.info("Selected dungeon spawn position: {}", dungeonSpawnPos);
+        BlockPos site = selectedPos.get();
+        long placeStart = System.nanoTime();
+        if (plan.layout() != null && plan.layout().site().equals(site)) {
+            queueJigsawPlacement(serverLevel, request, chosenDungeon, site, plan.layout(), plan.planNanos(), probeNanos, placeStart);
+            return;
+        }
 
-        // 3. Summon the structure
-        StructureSummoner structureSummoner = new StructureSummoner();
-        boolean structureSummoned = structureSummoner.summonStructure(serverLevel, dungeonSpawnPos, chosenDungeon);
+        // Kept as the reserved site while the layout is planned again, so that an unloaded gate reuses it when it resumes
+        this.reservedSite = site;
+        this.setChanged();
+        this.pendingFuture = planLayout(serverLevel, chosenDungeon, site, request.token())
+                .thenAcceptAsync(layout -> {
+                    if (!isPlanningFor(serverLevel, request) || !site.equals(this.reservedSite)) {
+                        return;
+                    }
+                    this.reservedSite = null;
+                    if (layout.isEmpty()) {
+                        failJigsawPlacement(serverLevel, request, chosenDungeon.structure(), site, plan.planNanos(), probeNanos);
+                        return;
+                    }
+                    queueJigsawPlacement(serverLevel, request, chosenDungeon, site, layout.get(), plan.planNanos(), probeNanos, placeStart);
+                }, serverLevel.getServer());
+    }
 
-        if (!structureSummoned) {
-            ChaoticDungeons.LOGGER.error("Failed to summon structure {} at {}.", chosenDungeon.structure(), dungeonSpawnPos);
-            // Optionally send a message to the player: "Dungeon generation failed!"
-            return false;
+    /**
+     * Picks up the placement of a reloaded gate's jigsaw dungeon. If its pieces are still queued, the completion
+     * attached when they were queued finishes the activation. Otherwise the placement finished while the gate was
+     * unloaded, or was dropped when the server stopped: the same layout is planned again at the claimed site,
+     * from the activation's token, and placed over whatever of it is already there.
+     */
+    private void resumeJigsawPlacement(ServerLevel serverLevel) {
+        ActivationPipeline.ActivationRequest request = this.pendingActivation;
+        PendingPlacement placement = this.pendingPlacement;
+        Optional<CompletableFuture<Boolean>> queued = JigsawPlacementQueue.getPending(serverLevel, placement.entrance());
+        if (queued.isPresent()) {
+            // Only marks the placement as in flight; the completion attached when it was queued does the work
+            this.pendingFuture = queued.get().thenAccept(placed -> { });
+            return;
         }
-        ChaoticDungeons.LOGGER.info("Successfully summoned structure {} at {}", chosenDungeon.structure(), dungeonSpawnPos);
 
+        JigsawPlacementQueue.cancel(serverLevel, placement.entrance()); // Rooms a finished lazy placement left waiting
+        long placeStart = System.nanoTime();
+        Optional<DungeonData> dungeon = DungeonSelector.selectDungeons(request.keyType(), request.keyDifficulty()).stream()
+                .filter(data -> data.isJigsaw() && data.structure().equals(placement.structure()))
+                .findFirst();
+        if (dungeon.isEmpty()) {
+            failJigsawPlacement(serverLevel, request, placement.structure(), placement.site(), 0L, 0L);
+            return;
+        }
 
-        // 4. Teleport the activating player
-        TeleportHandler teleportHandler = new TeleportHandler(dungeonSpawnPos);
-        teleportHandler.handleTeleport(player, serverLevel);
-        ChaoticDungeons.LOGGER.info("Player {} teleported to dungeon at {}", player.getName().getString(), dungeonSpawnPos);
+        // The persisted placement keeps the site claimed while the layout is planned again
+        this.pendingFuture = planLayout(serverLevel, dungeon.get(), placement.site(), request.token())
+                .thenAcceptAsync(layout -> {
+                    if (!isPlanningFor(serverLevel, request) || !placement.equals(this.pendingPlacement)) {
+                        return;
+                    }
+                    if (layout.isEmpty()) {
+                        failJigsawPlacement(serverLevel, request, placement.structure(), placement.site(), 0L, 0L);
+                        return;
+                    }
+                    queueJigsawPlacement(serverLevel, request, dungeon.get(), placement.site(), layout.get(), 0L, 0L, placeStart);
+                }, serverLevel.getServer());
+    }
 
-        // 5. Update BlockEntity state and start timer
+    /**
+     * Plans a jigsaw layout on a worker thread. The level's generation context is captured on the calling (server) thread.
+     *
+     * @return A future of the layout, or of empty if it could not be assembled.
+     */
+    private static CompletableFuture<Optional<JigsawPlanner.Layout>> planLayout(ServerLevel serverLevel, DungeonData dungeon, BlockPos site, long token) {
+        JigsawPlanner.Context context = JigsawPlanner.Context.capture(serverLevel);
+        return CompletableFuture.supplyAsync(() -> JigsawPlanner.plan(context, dungeon, site, token), Util.backgroundExecutor())
+                .exceptionally(throwable -> {
+                    ChaoticDungeons.LOGGER.error("Planning jigsaw dungeon {} at {} failed.", dungeon.structure(), site, throwable);
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * Whether this gate is still the loaded gate of its position, waiting on the given request. A layout planned for a
+     * gate that was unloaded in the meantime is dropped; the reloaded gate plans it again when it resumes.
+     */
+    private boolean isPlanningFor(ServerLevel serverLevel, ActivationPipeline.ActivationRequest request) {
+        if (serverLevel.isLoaded(getBlockPos()) && serverLevel.getBlockEntity(getBlockPos()) == this
+                && this.pendingActivation != null && this.pendingActivation.token() == request.token()) {
+            return true;
+        }
+        ChaoticDungeons.LOGGER.debug("Gate at {} changed while its jigsaw layout was planned; dropping the layout.", getBlockPos());
+        return false;
+    }
+
+    /**
+     * Queues a planned layout at the claimed site. The gate stays pending while the pieces (only the entry room for
+     * lazy dungeons) are placed.
+     */
+    private void queueJigsawPlacement(ServerLevel serverLevel, ActivationPipeline.ActivationRequest request, DungeonData chosenDungeon,
+                                      BlockPos site, JigsawPlanner.Layout layout, long planNanos, long probeNanos, long placeStart) {
+        PendingPlacement placement = new PendingPlacement(chosenDungeon.structure(), site, layout.entrance(), layout.bounds());
+        this.pendingPlacement = placement;
+        this.setChanged();
+        holdChunkTicket(serverLevel, DungeonChunkTickets.Area.of(placement.bounds()));
+        awaitPlacement(serverLevel, request, chosenDungeon, placement, enqueuePlacement(serverLevel, getBlockPos(), chosenDungeon, layout, request.token()),
+                planNanos, probeNanos, placeStart);
+    }
+
+    /**
+     * Gives up an activation whose jigsaw layout could not be assembled, freeing the claimed site.
+     */
+    private void failJigsawPlacement(ServerLevel serverLevel, ActivationPipeline.ActivationRequest request, String structure, BlockPos site,
+                                     long planNanos, long probeNanos) {
+        ChaoticDungeons.LOGGER.error("Failed to assemble jigsaw dungeon {} at {} for the gate at {}.", structure, site, getBlockPos());
+        clearPendingActivation();
+        releaseChunkTicket(serverLevel);
+        PositionSelector.releasePosition(serverLevel, site);
+        journal(serverLevel, ActivationJournal.Kind.PLACEMENT_FAILED, site, request.playerId(), structure, planNanos, probeNanos, 0L, 0L);
+    }
+
+    private static CompletableFuture<Boolean> enqueuePlacement(ServerLevel serverLevel, BlockPos gatePos, DungeonData dungeon, JigsawPlanner.Layout layout, long token) {
+        return dungeon.lazy()
+                ? JigsawPlacementQueue.enqueueLazy(serverLevel, layout, token, recordPlacedRooms(serverLevel, gatePos, layout.entrance()))
+                : JigsawPlacementQueue.enqueue(serverLevel, layout, token);
+    }
+
+    /**
+     * Records the placed rooms of a lazy dungeon on its gate, if the gate is loaded. A gate that was unloaded in the
+     * meantime reads them from the queue when it is loaded again.
+     */
+    private static Consumer<BitSet> recordPlacedRooms(ServerLevel serverLevel, BlockPos gatePos, BlockPos entrance) {
+        return placed -> {
+            if (serverLevel.isLoaded(gatePos) && serverLevel.getBlockEntity(gatePos) instanceof GateBlockEntity gate
+                    && gate.lazyLayout != null && gate.generatedDungeonPos == entrance.asLong()) {
+                gate.lazyLayout = new LazyLayout(gate.lazyLayout.site(), gate.lazyLayout.token(), placed);
+                gate.setChanged();
+            }
+        };
+    }
+
+    /**
+     * Queues the waiting rooms of this gate's lazy dungeon again. The queue keeps them while the gate's chunk is
+     * unloaded, so after a chunk reload only the placed rooms are read back; after a restart the layout is planned
+     * again off the server thread from its site and token, and the rooms not placed yet are queued.
+     */
+    private void resumeLazyRooms(ServerLevel serverLevel) {
+        this.lazyRoomsResumed = true;
+        LazyLayout lazy = this.lazyLayout;
+        Optional<BitSet> placed = JigsawPlacementQueue.getPlacedRooms(serverLevel, BlockPos.of(generatedDungeonPos));
+        if (placed.isPresent()) {
+            this.lazyLayout = new LazyLayout(lazy.site(), lazy.token(), placed.get());
+            this.setChanged();
+            return;
+        }
+
+        String structure = getSelectedDungeonStructure();
+        Optional<DungeonData> dungeon = DungeonSelector.selectDungeons(getSelectedDungeonType(), selectedDungeonDifficulty).stream()
+                .filter(data -> data.isJigsaw() && data.structure().equals(structure))
+                .findFirst();
+        if (dungeon.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("Jigsaw dungeon {} of the gate at {} is no longer registered; its waiting rooms are dropped.", structure, getBlockPos());
+            this.lazyLayout = null;
+            this.setChanged();
+            return;
+        }
+        BlockPos gatePos = getBlockPos();
+        planLayout(serverLevel, dungeon.get(), lazy.site(), lazy.token())
+                .thenAcceptAsync(layout -> {
+                    if (!serverLevel.isLoaded(gatePos) || serverLevel.getBlockEntity(gatePos) != this || !isActive || this.lazyLayout == null) {
+                        return; // Expired, removed or unloaded; a reloaded gate resumes its rooms itself
+                    }
+                    if (layout.isEmpty()) {
+                        ChaoticDungeons.LOGGER.error("Failed to assemble jigsaw dungeon {} at {} again; its waiting rooms are dropped.", structure, lazy.site());
+                        return;
+                    }
+                    JigsawPlacementQueue.restoreLazy(serverLevel, layout.get(), lazy.token(), this.lazyLayout.placed(),
+                            recordPlacedRooms(serverLevel, gatePos, layout.get().entrance()));
+                }, serverLevel.getServer());
+    }
+
+    /**
+     * Finishes the activation once a jigsaw dungeon's placement completes; the future completes on the server thread.
+     * If the gate is unloaded by then, its claim, chunk ticket and waiting rooms are kept for {@link #resumeJigsawPlacement}.
+     * If the gate was removed or moved on to another placement, the queued rooms are dropped.
+     */
+    private void awaitPlacement(ServerLevel serverLevel, ActivationPipeline.ActivationRequest request, DungeonData chosenDungeon,
+                                PendingPlacement placement, CompletableFuture<Boolean> future, long planNanos, long probeNanos, long placeStart) {
+        BlockPos gatePos = getBlockPos();
+        UUID playerId = request.playerId();
+        BlockPos entrance = placement.entrance();
+        DungeonChunkTickets.Area area = DungeonChunkTickets.Area.of(placement.bounds());
+        this.pendingFuture = future.thenAccept(placed -> {
+            long placeNanos = System.nanoTime() - placeStart;
+            if (!serverLevel.isLoaded(gatePos)) {
+                ChaoticDungeons.LOGGER.debug("Gate at {} unloaded while its jigsaw dungeon was placed; it will resume on load.", gatePos);
+                return;
+            }
+            if (!(serverLevel.getBlockEntity(gatePos) instanceof GateBlockEntity gate) || gate.pendingActivation == null
+                    || gate.pendingActivation.token() != request.token() || !placement.equals(gate.pendingPlacement)) {
+                ChaoticDungeons.LOGGER.debug("Gate at {} changed while its jigsaw dungeon was placed; dropping the activation.", gatePos);
+                if (!(serverLevel.getBlockEntity(gatePos) instanceof GateBlockEntity current && area.equals(current.chunkTicket))) {
+                    DungeonChunkTickets.release(serverLevel, area);
+                }
+                JigsawPlacementQueue.cancel(serverLevel, entrance);
+                return;
+            }
+            gate.clearPendingActivation();
+            if (!placed) {
+                gate.releaseChunkTicket(serverLevel);
+                gate.journal(serverLevel, ActivationJournal.Kind.PLACEMENT_FAILED, entrance, playerId, chosenDungeon.structure(), planNanos, probeNanos, placeNanos, 0L);
+                return;
+            }
+            if (chosenDungeon.lazy()) {
+                BitSet entryRoom = new BitSet();
+                entryRoom.set(0);
+                gate.lazyLayout = new LazyLayout(placement.site(), request.token(), entryRoom);
+                gate.lazyRoomsResumed = true; // The queue already holds the waiting rooms
+            }
+            gate.finishActivation(serverLevel, playerId, chosenDungeon, entrance, List.of(), placement.bounds(), 0, ActivationJournal.Kind.ACTIVATED, planNanos, probeNanos, placeNanos);
+        });
+    }
+
+    /**
+     * Gives up the jigsaw dungeon this gate is still placing: its queued pieces are dropped and its site is freed.
+     * Called when the gate is removed.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    public void cancelPendingPlacement(ServerLevel serverLevel) {
+        if (this.pendingPlacement != null) {
+            PendingPlacement placement = this.pendingPlacement;
+            clearPendingActivation();
+            JigsawPlacementQueue.cancel(serverLevel, placement.entrance());
+            PositionSelector.releasePosition(serverLevel, placement.site());
+            ChaoticDungeons.LOGGER.debug("Gate at {} dropped the placement of {} at {}.", getBlockPos(), placement.structure(), placement.site());
+        }
+    }
+
+    /**
+     * Claims the nearest unclaimed natural start of the chosen structure as the dungeon. Nothing is placed:
+     * the structure's chunks generate as usual when the party arrives. The gate's reserved site is not needed.
+     */
+    private void commitNaturalActivation(ServerLevel serverLevel, ActivationPipeline.ActivationPlan plan, UUID playerId) {
+        DungeonData chosenDungeon = plan.dungeon();
+        clearPendingActivation();
+        cancelReservation(serverLevel);
+
+        long probeStart = System.nanoTime();
+        Optional<NaturalStructureSelector.NaturalSite> site = NaturalStructureSelector.claimNearest(serverLevel, chosenDungeon, getBlockPos());
+        long probeNanos = System.nanoTime() - probeStart;
+        if (site.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("Failed to find an unclaimed natural {} near {}.", chosenDungeon.structure(), getBlockPos());
+            journal(serverLevel, ActivationJournal.Kind.NO_SITE, null, playerId, chosenDungeon.structure(), plan.planNanos(), probeNanos, 0L, 0L);
+            return;
+        }
+
+        holdChunkTicket(serverLevel, DungeonChunkTickets.Area.of(site.get().bounds()));
+        finishActivation(serverLevel, playerId, chosenDungeon, site.get().entrance(), List.of(), site.get().bounds(), 0, ActivationJournal.Kind.ACTIVATED,
+                plan.planNanos(), probeNanos, 0L);
+    }
+
+    /**
+     * Claims the first evaluated site of the plan that is still free, or takes the gate's reserved site if the plan accepted it.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     * @param plan The activation plan.
+     * @return The claimed dungeon position, or empty if every site was taken.
+     */
+    private Optional<BlockPos> claimSite(ServerLevel serverLevel, ActivationPipeline.ActivationPlan plan) {
+        if (reservedSite != null && plan.candidates().contains(reservedSite)) {
+            // Already claimed when the gate was placed
+            BlockPos site = reservedSite;
+            this.reservedSite = null;
+            this.setChanged();
+            ChaoticDungeons.LOGGER.debug("Using reserved dungeon site: {}", site);
+            return Optional.of(site);
+        }
+        cancelReservation(serverLevel); // The chosen dungeon rejected the reserved site
+        Optional<BlockPos> selectedPos = PositionSelector.selectPosition(serverLevel, plan.candidates());
+        if (selectedPos.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("Failed to find a suitable position for dungeon generation near {}.", getBlockPos());
+            // Optionally send a message to the player: "Could not find a safe place for a dungeon!"
+        } else {
+            ChaoticDungeons.LOGGER.debug("Selected dungeon spawn position: {}", selectedPos.get());
+        }
+        return selectedPos;
+    }
+
+    /**
+     * Starts the gate timer, indexes the dungeon's bounds for occupancy and teleports the party into the placed dungeon.
+     */
+    private void finishActivation(ServerLevel serverLevel, UUID playerId, DungeonData chosenDungeon, BlockPos dungeonSpawnPos, List<BlockPos> anchors,
+                                  BoundingBox bounds, int instanceId, ActivationJournal.Kind kind, long planNanos, long probeNanos, long placeNanos) {
+        // 3. Update BlockEntity state and start timer
         this.isActive = true;
         this.activationTimer = ACTIVATION_TIMER_SECONDS * TICKS_PER_SECOND;
-        this.generatedDungeonPos = dungeonSpawnPos;
-        this.selectedDungeonStructure = chosenDungeon.structure();
-        this.selectedDungeonType = chosenDungeon.type();
+        DungeonIdMap ids = DungeonIdMap.get(serverLevel.getServer());
+        this.generatedDungeonPos = dungeonSpawnPos.asLong();
+        this.selectedDungeonStructureId = ids.getOrAssign(chosenDungeon.structure());
+        this.selectedDungeonTypeId = ids.getOrAssign(chosenDungeon.type());
         this.selectedDungeonDifficulty = chosenDungeon.difficulty();
+        this.dungeonInstanceId = instanceId;
+        this.dungeonBounds = bounds;
         this.setChanged(); // Mark chunk for saving
-        level.sendBlockUpdated(getBlockPos(), getBlockState(), getBlockState(), 3); // Sync with clients
+        DungeonOccupancy.add(serverLevel, getBlockPos(), bounds);
+        syncToClients(serverLevel);
 
-        return true;
+        // 4. Teleport the activating player and their party once the arrival chunks are loaded, if the player is still online
+        long teleportStart = System.nanoTime();
+        ServerPlayer player = serverLevel.getServer().getPlayerList().getPlayer(playerId);
+        CompletableFuture<Void> teleport = player == null
+                ? CompletableFuture.completedFuture(null)
+                : TeleportHandler.warmUpAndTeleport(collectParty(serverLevel, player), serverLevel, dungeonSpawnPos, anchors);
+        teleport.whenComplete((ignored, error) -> journal(serverLevel, kind, dungeonSpawnPos, playerId, chosenDungeon.structure(), planNanos, probeNanos, placeNanos,
+                System.nanoTime() - teleportStart));
+    }
+
+    private void clearPendingActivation() {
+        this.pendingActivation = null;
+        this.pendingFuture = null;
+        this.pendingPlacement = null;
+        this.setChanged();
     }
 
     /**
-     * Triggers an explosion at the block's location.
-     * This method is called when the activation timer runs out.
+     * Returns this gate's dungeon instance to the pool, undoing the changes players made inside it.
+     * Called when the gate expires or is removed.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
      */
-    private void explodeBlock() {
-        if (level instanceof ServerLevel serverLevel) {
-            ChaoticDungeons.LOGGER.info("Exploding GateBlock at {}.", getBlockPos());
-            // Create an explosion. Adjust power as needed. BlockInteraction.DESTROY prevents drops.
-            // Using a simple ExplosionDamageCalculator allows for fine-tuning.
-            // FIX: Ensure correct BlockInteraction enum is used.
-            serverLevel.explode(null, null, new ExplosionDamageCalculator(), getBlockPos().getX() + 0.5, getBlockPos().getY() + 0.5, getBlockPos().getZ() + 0.5, 4.0F, false, Level.ExplosionInteraction.BLOCK);
+    public void releaseDungeonInstance(ServerLevel serverLevel) {
+        if (this.dungeonInstanceId != 0) {
+            DungeonInstanceManager.get(serverLevel).release(serverLevel, this.dungeonInstanceId);
+            this.dungeonInstanceId = 0;
+            this.setChanged();
+        }
+    }
 
-            // Immediately remove the block entity and block state to ensure it's gone
-            serverLevel.removeBlockEntity(getBlockPos());
-            serverLevel.setBlockAndUpdate(getBlockPos(), net.minecraft.world.level.block.Blocks.AIR.defaultBlockState());
+    /**
+     * Keeps the dungeon's chunks loaded until {@link #releaseChunkTicket} is called.
+     */
+    private void holdChunkTicket(ServerLevel serverLevel, DungeonChunkTickets.Area area) {
+        releaseChunkTicket(serverLevel);
+        DungeonChunkTickets.hold(serverLevel, area);
+        this.chunkTicket = area;
+        this.setChanged();
+    }
+
+    /**
+     * Lets the dungeon's chunks unload again. Called when the gate expires or is removed.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    public void releaseChunkTicket(ServerLevel serverLevel) {
+        if (this.chunkTicket != null) {
+            DungeonChunkTickets.release(serverLevel, this.chunkTicket);
+            this.chunkTicket = null;
+            this.setChanged();
+        }
+    }
+
+    /**
+     * Stops placing the remaining rooms of a lazy jigsaw dungeon. Called when the gate expires or is removed.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    public void cancelPendingRooms(ServerLevel serverLevel) {
+        if (isActive) {
+            JigsawPlacementQueue.cancel(serverLevel, BlockPos.of(generatedDungeonPos));
+        }
+        if (this.lazyLayout != null) {
+            this.lazyLayout = null;
+            this.setChanged();
+        }
+    }
+
+    /**
+     * Collects the players travelling through the gate: the activating player first, then every other
+     * non-spectator player within {@value #PARTY_RADIUS} blocks of the gate in the same level.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     * @param activatingPlayer The player who used the key.
+     * @return The party, at most {@value #MAX_PARTY_SIZE} players.
+     */
+    private List<ServerPlayer> collectParty(ServerLevel serverLevel, ServerPlayer activatingPlayer) {
+        List<ServerPlayer> party = new ArrayList<>();
+        party.add(activatingPlayer);
+        Vec3 gateCenter = Vec3.atCenterOf(getBlockPos());
+        double radiusSqr = PARTY_RADIUS * PARTY_RADIUS;
+        for (ServerPlayer other : serverLevel.players()) {
+            if (party.size() >= MAX_PARTY_SIZE) {
+                break;
+            }
+            if (other != activatingPlayer && !other.isSpectator() && other.distanceToSqr(gateCenter) <= radiusSqr) {
+                party.add(other);
+            }
+        }
+        return party;
+    }
+
+    /**
+     * Appends a record for this gate to the activation journal.
+     */
+    private void journal(ServerLevel serverLevel, ActivationJournal.Kind kind, @Nullable BlockPos dungeonPos, @Nullable UUID playerId, String structure,
+                         long planNanos, long probeNanos, long placeNanos, long teleportNanos) {
+        ActivationJournal journal = ActivationJournal.get(serverLevel.getServer());
+        if (journal != null) {
+            journal.record(serverLevel.getGameTime(), kind, getBlockPos(), dungeonPos, playerId, structure, planNanos, probeNanos, placeNanos, teleportNanos);
         }
     }
 
     /**
      * Reads NBT data into the BlockEntity. Used for loading state from disk.
+     * Saves written before dungeon ids existed (string ids, split X/Y/Z) are read and migrated in {@link #onLoad()}.
      *
      * @param nbt The CompoundTag containing the NBT data.
      */
     @Override
     public void load(CompoundTag nbt) {
         super.load(nbt);
-        this.isActive = nbt.getBoolean("IsActive");
+        this.isActive = nbt.contains("DungeonPos") || nbt.getBoolean("IsActive");
         this.activationTimer = nbt.getInt("ActivationTimer");
-        if (nbt.contains("GeneratedDungeonX")) { // Check for presence of all position components
-            this.generatedDungeonPos = new BlockPos(nbt.getInt("GeneratedDungeonX"), nbt.getInt("GeneratedDungeonY"), nbt.getInt("GeneratedDungeonZ"));
-        } else {
-            this.generatedDungeonPos = null; // Clear if not found
+        this.selectedDungeonDifficulty = nbt.getInt("DungeonDifficulty");
+        if (nbt.contains("DungeonPos")) {
+            this.generatedDungeonPos = nbt.getLong("DungeonPos");
+            this.selectedDungeonStructureId = nbt.getInt("DungeonStructure");
+            this.selectedDungeonTypeId = nbt.getInt("DungeonType");
+            this.dungeonInstanceId = nbt.getInt("DungeonInstance");
+        } else if (nbt.contains("GeneratedDungeonX")) {
+            // Legacy format
+            this.generatedDungeonPos = BlockPos.asLong(nbt.getInt("GeneratedDungeonX"), nbt.getInt("GeneratedDungeonY"), nbt.getInt("GeneratedDungeonZ"));
+            this.legacyDungeonStructure = nbt.getString("SelectedDungeonStructure");
+            this.legacyDungeonType = nbt.getString("SelectedDungeonType");
+            this.selectedDungeonDifficulty = nbt.getInt("SelectedDungeonDifficulty");
         }
-        this.selectedDungeonStructure = nbt.getString("SelectedDungeonStructure");
-        this.selectedDungeonType = nbt.getString("SelectedDungeonType");
-        this.selectedDungeonDifficulty = nbt.getInt("SelectedDungeonDifficulty");
+        this.pendingActivation = nbt.contains("PendingActivation") ? ActivationPipeline.ActivationRequest.load(nbt.getCompound("PendingActivation")) : null;
+        this.pendingPlacement = nbt.contains("PendingPlacement") ? PendingPlacement.load(nbt.getCompound("PendingPlacement")) : null;
+        this.reservedSite = nbt.contains("ReservedSite") ? BlockPos.of(nbt.getLong("ReservedSite")) : null;
+        this.chunkTicket = nbt.contains("ChunkTicket") ? DungeonChunkTickets.Area.load(nbt.getCompound("ChunkTicket")) : null;
+        this.lazyLayout = this.isActive && nbt.contains("LazyLayout") ? LazyLayout.load(nbt.getCompound("LazyLayout")) : null;
+        int[] bounds = nbt.getIntArray("DungeonBounds");
+        this.dungeonBounds = bounds.length == 6 ? new BoundingBox(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]) : null;
 
         ChaoticDungeons.LOGGER.debug("GateBlockEntity at {} loaded: isActive={}, timer={}", getBlockPos(), isActive, activationTimer);
     }
 
     /**
      * Writes the BlockEntity's data to NBT. Used for saving state to disk.
+     * Inactive gates only write their pending activation or reserved site, if any.
      *
      * @param nbt The CompoundTag to write data to.
      */
     @Override
     protected void saveAdditional(CompoundTag nbt) {
         super.saveAdditional(nbt);
-        nbt.putBoolean("IsActive", this.isActive);
-        nbt.putInt("ActivationTimer", this.activationTimer);
-        if (this.generatedDungeonPos != null) {
-            nbt.putInt("GeneratedDungeonX", this.generatedDungeonPos.getX());
-            nbt.putInt("GeneratedDungeonY", this.generatedDungeonPos.getY());
-            nbt.putInt("GeneratedDungeonZ", this.generatedDungeonPos.getZ());
+        if (this.isActive) {
+            nbt.putLong("DungeonPos", this.generatedDungeonPos);
+            nbt.putInt("DungeonStructure", this.selectedDungeonStructureId);
+            nbt.putInt("DungeonType", this.selectedDungeonTypeId);
+            nbt.putByte("DungeonDifficulty", (byte) this.selectedDungeonDifficulty);
+            nbt.putInt("DungeonInstance", this.dungeonInstanceId);
+            nbt.putInt("ActivationTimer", this.activationTimer);
+            if (this.dungeonBounds != null) {
+                BoundingBox b = this.dungeonBounds;
+                nbt.putIntArray("DungeonBounds", new int[]{b.minX(), b.minY(), b.minZ(), b.maxX(), b.maxY(), b.maxZ()});
+            }
+            if (this.lazyLayout != null) {
+                nbt.put("LazyLayout", this.lazyLayout.save());
+            }
+        }
+        if (this.pendingActivation != null) {
+            nbt.put("PendingActivation", this.pendingActivation.save());
+        }
+        if (this.pendingPlacement != null) {
+            nbt.put("PendingPlacement", this.pendingPlacement.save());
+        }
+        if (this.reservedSite != null) {
+            nbt.putLong("ReservedSite", this.reservedSite.asLong());
+        }
+        if (this.chunkTicket != null) {
+            nbt.put("ChunkTicket", this.chunkTicket.save());
         }
-        nbt.putString("SelectedDungeonStructure", this.selectedDungeonStructure);
-        nbt.putString("SelectedDungeonType", this.selectedDungeonType);
-        nbt.putInt("SelectedDungeonDifficulty", this.selectedDungeonDifficulty);
 
         ChaoticDungeons.LOGGER.debug("GateBlockEntity at {} saved: isActive={}, timer={}", getBlockPos(), isActive, activationTimer);
     }
 
     /**
-     * Gets the update packet for client synchronization.
+     * Builds the compact state packet clients use to render this gate.
      *
-     * @return The ClientboundBlockEntityDataPacket.
+     * @return The GateStatePacket for the current state.
      */
-    @Nullable
-    @Override
-    public Packet<ClientGamePacketListener> getUpdatePacket() {
-        return ClientboundBlockEntityDataPacket.create(this);
+    private GateStatePacket createStatePacket() {
+        long expiryGameTime = level == null ? 0L : level.getGameTime() + activationTimer;
+        return new GateStatePacket(getBlockPos(), isActive, selectedDungeonStructureId, expiryGameTime);
+    }
+
+    /**
+     * Sends the gate's state to every client tracking its chunk.
+     * Only called on state changes; clients predict the countdown locally in between.
+     *
+     * @param serverLevel The ServerLevel the gate is in.
+     */
+    private void syncToClients(ServerLevel serverLevel) {
+        ModNetwork.sendToTracking(serverLevel, getBlockPos(), createStatePacket());
+    }
+
+    /**
+     * Applies state received from the server. Called on the client only.
+     *
+     * @param active Whether the gate is active.
+     * @param structureId The numeric id of the gate's dungeon structure.
+     * @param expiryGameTime The game time at which the gate expires.
+     */
+    public void applyClientState(boolean active, int structureId, long expiryGameTime) {
+        this.isActive = active;
+        this.selectedDungeonStructureId = structureId;
+        this.clientExpiryGameTime = expiryGameTime;
     }
 
     /**
-     * Gets the update tag for client synchronization.
+     * Gets the update tag sent with the chunk when a client starts tracking it.
+     * Contains the same three fields as {@link GateStatePacket} instead of the full save data.
      *
      * @return The CompoundTag containing update data.
      */
     @Override
     public CompoundTag getUpdateTag() {
-        // Return the full NBT data for synchronization
-        return saveWithFullMetadata();
+        GateStatePacket state = createStatePacket();
+        CompoundTag tag = new CompoundTag();
+        tag.putBoolean("A", state.active());
+        if (state.active()) {
+            tag.putInt("S", state.structureId());
+            tag.putLong("E", state.expiryGameTime());
+        }
+        return tag;
     }
 
     /**
-     * Handles the client-side update from the server's update packet.
+     * Handles the client-side update from the chunk data sent by the server.
      *
      * @param tag The CompoundTag received from the server.
      */
     @Override
     public void handleUpdateTag(CompoundTag tag) {
-        // This is called on the client when the server sends a BlockEntity update.
-        load(tag); // Load the received NBT data
+        applyClientState(tag.getBoolean("A"), tag.getInt("S"), tag.getLong("E"));
     }
 
     // --- Getters for Block Entity State (can be used for rendering or UI if needed) ---
@@ -275,23 +1060,50 @@ public class GateBlockEntity extends BlockEntity {
         return isActive;
     }
 
+    /**
+     * Gets the remaining active time in ticks. On the client this is predicted from the synced expiry time.
+     *
+     * @return The remaining ticks.
+     */
     public int getActivationTimer() {
+        if (level != null && level.isClientSide()) {
+            return (int) Math.max(0L, clientExpiryGameTime - level.getGameTime());
+        }
         return activationTimer;
     }
 
+    @Nullable
     public BlockPos getGeneratedDungeonPos() {
-        return generatedDungeonPos;
+        return isActive ? BlockPos.of(generatedDungeonPos) : null;
+    }
+
+    public int getSelectedDungeonStructureId() {
+        return selectedDungeonStructureId;
     }
 
+    /**
+     * Resolves the selected dungeon structure through the world's id table. Server side only.
+     *
+     * @return The structure string, or an empty string if none is selected or called on the client.
+     */
     public String getSelectedDungeonStructure() {
-        return selectedDungeonStructure;
+        return level instanceof ServerLevel serverLevel ? DungeonIdMap.get(serverLevel.getServer()).getName(selectedDungeonStructureId) : "";
     }
 
+    /**
+     * Resolves the selected dungeon type through the world's id table. Server side only.
+     *
+     * @return The type string, or an empty string if none is selected or called on the client.
+     */
     public String getSelectedDungeonType() {
-        return selectedDungeonType;
+        return level instanceof ServerLevel serverLevel ? DungeonIdMap.get(serverLevel.getServer()).getName(selectedDungeonTypeId) : "";
     }
 
     public int getSelectedDungeonDifficulty() {
         return selectedDungeonDifficulty;
     }
+
+    public boolean isActivationPending() {
+        return pendingActivation != null;
+    }
 }
\ No newline at end of file
@@ -7,6 +7,6 @@ package com.chaoticdungeons.chaoticdungeons.blocks.gateblocks;
  */
 public class BasicGateBlock extends GateBlock {
     public BasicGateBlock() {
-        super();
+        super("basic");
     }
 }
\ No newline at end of file
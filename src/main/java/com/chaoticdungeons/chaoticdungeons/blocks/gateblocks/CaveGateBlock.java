@@ -7,6 +7,6 @@ package com.chaoticdungeons.chaoticdungeons.blocks.gateblocks;
  */
 public class CaveGateBlock extends GateBlock {
     public CaveGateBlock() {
-        super();
+        super("cave");
     }
 }
\ No newline at end of file
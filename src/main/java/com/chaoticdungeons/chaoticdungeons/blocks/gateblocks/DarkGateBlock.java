@@ -7,6 +7,6 @@ package com.chaoticdungeons.chaoticdungeons.blocks.gateblocks;
  */
 public class DarkGateBlock extends GateBlock {
     public DarkGateBlock() {
-        super();
+        super("dark");
     }
 }
\ No newline at end of file
@@ -3,10 +3,12 @@ package com.chaoticdungeons.chaoticdungeons.blocks.gateblocks;
 
 import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
 import com.chaoticdungeons.chaoticdungeons.blockentities.GateBlockEntity;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonOccupancy;
 import com.chaoticdungeons.chaoticdungeons.items.keys.BaseKeyItem;
 import com.chaoticdungeons.chaoticdungeons.registration.ModRegisters;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
@@ -35,17 +37,26 @@ import org.jetbrains.annotations.Nullable;
  */
 public abstract class GateBlock extends BaseEntityBlock {
 
+    private final String dungeonType;
+
     /**
      * Constructor for the GateBlock.
      * Sets default block properties suitable for gate blocks.
+     *
+     * @param dungeonType The dungeon type this gate leads to (e.g., "basic", "cave"); used to pre-build its dungeon site.
      */
-    protected GateBlock() {
+    protected GateBlock(String dungeonType) {
         super(BlockBehaviour.Properties.of()
                 .mapColor(MapColor.COLOR_BLACK) // Example: Black map color
                 .strength(4.0F, 1200.0F) // High strength, explosion resistance
                 .sound(SoundType.NETHERITE_BLOCK) // Example: Netherite sound
                 .noOcclusion() // Allows for custom rendering if needed
                 .lightLevel((state) -> 5)); // Emits some light
+        this.dungeonType = dungeonType;
+    }
+
+    public String getDungeonType() {
+        return dungeonType;
     }
 
     /**
@@ -122,6 +133,29 @@ public abstract class GateBlock extends BaseEntityBlock {
         return createTickerHelper(p_153212_, ModRegisters.GATE_BLOCK_ENTITY.get(), GateBlockEntity::tick);
     }
 
+    /**
+     * Called when the block is placed. Starts reserving a dungeon site for the new gate in the background,
+     * so that a later key use does not have to search for one.
+     * The block entity is created after this call, so the reservation starts once the current task is done.
+     *
+     * @param state The new block state.
+     * @param level The level (world).
+     * @param pos The position of the block.
+     * @param oldState The previous block state.
+     * @param isMoving Whether the block is moving.
+     */
+    @Override
+    public void onPlace(BlockState state, Level level, BlockPos pos, BlockState oldState, boolean isMoving) {
+        super.onPlace(state, level, pos, oldState, isMoving);
+        if (level instanceof ServerLevel serverLevel && !oldState.is(state.getBlock())) {
+            serverLevel.getServer().execute(() -> {
+                if (serverLevel.getBlockEntity(pos) instanceof GateBlockEntity gateBlockEntity) {
+                    gateBlockEntity.startReservation(serverLevel, dungeonType);
+                }
+            });
+        }
+    }
+
     /**
      * Called when the block is removed. Ensures the associated BlockEntity is also cleaned up.
      *
@@ -135,9 +169,16 @@ public abstract class GateBlock extends BaseEntityBlock {
     public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean isMoving) {
         if (!state.is(newState.getBlock())) {
             if (level.getBlockEntity(pos) instanceof GateBlockEntity gateBlockEntity) {
-                // If there's any important cleanup, do it here.
-                // For now, just logging.
                 ChaoticDungeons.LOGGER.debug("GateBlock at {} being removed.", pos);
+                // Hand the gate's dungeon back to the pool, let its chunks unload and drop an unused site reservation or unfinished placement
+                if (level instanceof ServerLevel serverLevel) {
+                    gateBlockEntity.releaseDungeonInstance(serverLevel);
+                    gateBlockEntity.releaseChunkTicket(serverLevel);
+                    gateBlockEntity.cancelPendingRooms(serverLevel);
+                    gateBlockEntity.cancelReservation(serverLevel);
+                    gateBlockEntity.cancelPendingPlacement(serverLevel);
+                    DungeonOccupancy.remove(serverLevel, pos);
+                }
             }
         }
         super.onRemove(state, level, pos, newState, isMoving);
@@ -7,6 +7,6 @@ package com.chaoticdungeons.chaoticdungeons.blocks.gateblocks;
  */
 public class SewerageGateBlock extends GateBlock {
     public SewerageGateBlock() {
-        super();
+        super("sewerage");
     }
 }
\ No newline at end of file
@@ -36,6 +36,18 @@ public class DungeonGenerationTracker implements INBTSerializable<ListTag> {
         }
     }
 
+    /**
+     * Removes a tracked dungeon position, e.g. a reserved site that was never built on.
+     *
+     * @param pos The BlockPos to stop tracking.
+     */
+    public void removeGeneratedDungeonPosition(BlockPos pos) {
+        if (generatedDungeonPositions.remove(pos)) {
+            isDirty = true;
+            ChaoticDungeons.LOGGER.debug("DungeonGenerationTracker: Removed dungeon position: {}. Total: {}", pos, generatedDungeonPositions.size());
+        }
+    }
+
     /**
      * Returns an unmodifiable set of all currently tracked dungeon positions.
      *
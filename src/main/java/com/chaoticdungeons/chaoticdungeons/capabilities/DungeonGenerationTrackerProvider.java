@@ -5,6 +5,8 @@ import net.minecraft.core.Direction;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
 import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
 import org.jetbrains.annotations.NotNull;
@@ -20,8 +22,9 @@ public class DungeonGenerationTrackerProvider implements ICapabilitySerializable
     // Unique identifier for this capability.
     public static final ResourceLocation IDENTIFIER = new ResourceLocation("chaotic_dungeons", "dungeon_tracker");
 
-    // The actual capability instance, lazily initialized.
-    public static Capability<DungeonGenerationTracker> DUNGEON_GENERATION_TRACKER_CAPABILITY = null; // Will be set by deferred register
+    // The capability instance, filled in by Forge once the capability is registered.
+    public static final Capability<DungeonGenerationTracker> DUNGEON_GENERATION_TRACKER_CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {
+    });
 
     // The actual instance of the DungeonGenerationTracker.
     private final DungeonGenerationTracker instance = new DungeonGenerationTracker();
@@ -0,0 +1,70 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/commands/ChaoticDungeonsCommand.java
+package com.chaoticdungeons.chaoticdungeons.commands;
+
+import com.chaoticdungeons.chaoticdungeons.diagnostics.ActivationJournal;
+import com.chaoticdungeons.chaoticdungeons.diagnostics.StressHarness;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraftforge.event.RegisterCommandsEvent;
+
+import java.util.List;
+
+/**
+ * The {@code /chaoticdungeons} operator command, used for server diagnostics:
+ * {@code journal [count]} prints recent activation journal records, and
+ * {@code stress <count> <rate>} / {@code stress stop} drive a synthetic activation load (see {@link StressHarness}).
+ */
+public class ChaoticDungeonsCommand {
+
+    private static final int DEFAULT_JOURNAL_ENTRIES = 10;
+    private static final int MAX_JOURNAL_ENTRIES = 100;
+    private static final int MAX_STRESS_GATES = 256;
+    private static final int MAX_STRESS_RATE = 20; // Activations per second
+
+    /**
+     * Registers the command tree. Subscribed to the Forge event bus during mod construction.
+     *
+     * @param event The RegisterCommandsEvent.
+     */
+    public static void register(RegisterCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal("chaoticdungeons")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("journal")
+                        .executes(context -> showJournal(context.getSource(), DEFAULT_JOURNAL_ENTRIES))
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, MAX_JOURNAL_ENTRIES))
+                                .executes(context -> showJournal(context.getSource(), IntegerArgumentType.getInteger(context, "count")))))
+                .then(Commands.literal("stress")
+                        .then(Commands.literal("stop")
+                                .executes(context -> StressHarness.stop(context.getSource())))
+                        .then(Commands.argument("count", IntegerArgumentType.integer(1, MAX_STRESS_GATES))
+                                .then(Commands.argument("rate", IntegerArgumentType.integer(1, MAX_STRESS_RATE))
+                                        .executes(context -> StressHarness.start(context.getSource(),
+                                                IntegerArgumentType.getInteger(context, "count"), IntegerArgumentType.getInteger(context, "rate")))))));
+    }
+
+    /**
+     * Prints the most recent activation journal records to the command source.
+     *
+     * @param source The command source.
+     * @param count The number of records to show.
+     * @return The number of records shown.
+     */
+    private static int showJournal(CommandSourceStack source, int count) {
+        ActivationJournal journal = ActivationJournal.get(source.getServer());
+        if (journal == null) {
+            source.sendFailure(Component.literal("The activation journal could not be opened; see the server log."));
+            return 0;
+        }
+
+        List<ActivationJournal.Entry> entries = journal.readRecent(count);
+        if (entries.isEmpty()) {
+            source.sendSuccess(() -> Component.literal("The activation journal is empty."), false);
+        }
+        for (ActivationJournal.Entry entry : entries) {
+            source.sendSuccess(() -> Component.literal(entry.toString()), false);
+        }
+        return entries.size();
+    }
+}
@@ -0,0 +1,74 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/config/ChaoticDungeonsConfig.java
+package com.chaoticdungeons.chaoticdungeons.config;
+
+import com.chaoticdungeons.chaoticdungeons.expiry.GateExpiryMode;
+import net.minecraftforge.common.ForgeConfigSpec;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * Server-side configuration of Chaotic Dungeons, stored per world in {@code serverconfig/chaotic_dungeons-server.toml}.
+ */
+public class ChaoticDungeonsConfig {
+
+    public static final ForgeConfigSpec SERVER_SPEC;
+    public static final Server SERVER;
+
+    static {
+        Pair<Server, ForgeConfigSpec> pair = new ForgeConfigSpec.Builder().configure(Server::new);
+        SERVER = pair.getLeft();
+        SERVER_SPEC = pair.getRight();
+    }
+
+    /**
+     * The server config values.
+     */
+    public static class Server {
+
+        public final ForgeConfigSpec.EnumValue<GateExpiryMode> gateExpiryMode;
+        public final ForgeConfigSpec.IntValue searchLatencyBudgetMillis;
+        public final ForgeConfigSpec.IntValue placementBudgetMillis;
+        public final ForgeConfigSpec.IntValue entityWakeRadius;
+        public final ForgeConfigSpec.ConfigValue<String> ledgerFile;
+
+        Server(ForgeConfigSpec.Builder builder) {
+            builder.comment("Gate behaviour").push("gates");
+            gateExpiryMode = builder
+                    .comment("What happens to a gate when its timer runs out.",
+                            "EXPLODE: a full explosion at the gate. COLLAPSE: the gate crumbles with dust and sound.",
+                            "DESPAWN: the gate quietly fades away. COLLAPSE and DESPAWN do not ray-cast.")
+                    .defineEnum("expiryMode", GateExpiryMode.EXPLODE);
+            builder.pop();
+
+            builder.comment("Dungeon position search").push("search");
+            searchLatencyBudgetMillis = builder
+                    .comment("Worker time that may be spent evaluating candidate sites for one activation.",
+                            "The number of evaluated candidates adapts to the measured cost per candidate.")
+                    .defineInRange("latencyBudgetMillis", 20, 1, 1000);
+            builder.pop();
+
+            builder.comment("Dungeon placement").push("placement");
+            placementBudgetMillis = builder
+                    .comment("Server thread time per tick that may be spent placing the pieces of jigsaw dungeons.",
+                            "Larger dungeons take more ticks to appear; the party is teleported once the last piece is placed,",
+                            "or once the entry room is placed for lazy dungeons, whose other rooms are placed as players approach them.")
+                    .defineInRange("budgetMillis", 10, 1, 50);
+            builder.pop();
+
+            builder.comment("Dungeon entities").push("entities");
+            entityWakeRadius = builder
+                    .comment("Distance in blocks at which a player wakes the entities of a dungeon room.",
+                            "Until then they are kept as dormant records and do not tick. Rooms go back to sleep",
+                            "once every player is 16 blocks further away.")
+                    .defineInRange("wakeRadius", 32, 8, 128);
+            builder.pop();
+
+            builder.comment("Dungeon slots shared between server instances").push("ledger");
+            ledgerFile = builder
+                    .comment("Path of a slot ledger file shared by every server instance on this host that runs a copy",
+                            "of the same world, so that they never place dungeons too close to each other.",
+                            "Relative paths are resolved against the server directory. Empty disables the ledger.")
+                    .define("file", "");
+            builder.pop();
+        }
+    }
+}
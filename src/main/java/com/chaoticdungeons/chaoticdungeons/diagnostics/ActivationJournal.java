@@ -0,0 +1,264 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/diagnostics/ActivationJournal.java
+package com.chaoticdungeons.chaoticdungeons.diagnostics;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A fixed-size, append-only binary journal of gate activations and expiries.
+ * Records are written into a memory-mapped ring file in the world folder, so writing one costs a few
+ * buffer puts instead of formatted log I/O. The journal can be decoded with the
+ * {@code /chaoticdungeons journal} command or offline via {@link #main(String[])}.
+ * <p>
+ * Layout: a {@value #HEADER_SIZE}-byte header (magic, version, record size, capacity, total records written)
+ * followed by {@code capacity} records of {@value #RECORD_SIZE} bytes. All values are big-endian.
+ * Only the server thread writes to the journal.
+ */
+public class ActivationJournal {
+
+    private static final int MAGIC = 0x43444A31; // "CDJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 128;
+    private static final int DEFAULT_CAPACITY = 8192; // 1 MiB of records
+    private static final int MAX_STRUCTURE_BYTES = RECORD_SIZE - 68;
+
+    private static final int HEADER_WRITTEN_OFFSET = 16;
+
+    /**
+     * What a journal record describes.
+     */
+    public enum Kind {
+        ACTIVATED, NO_DUNGEON, NO_SITE, PLACEMENT_FAILED, EXPIRED, REUSED;
+
+        private static final Kind[] VALUES = values();
+    }
+
+    /**
+     * A decoded journal record. Positions are null when the record has none.
+     * Phase timings are in microseconds: worker planning, site probing, placement and teleport.
+     */
+    public record Entry(long wallMillis, long gameTime, Kind kind, BlockPos gatePos, @Nullable BlockPos dungeonPos,
+                        @Nullable UUID playerId, String structure, int planMicros, int probeMicros, int placeMicros, int teleportMicros) {
+
+        @Override
+        public String toString() {
+            return String.format("%s t=%d %s gate=%s dungeon=%s structure=%s player=%s plan=%dus probe=%dus place=%dus teleport=%dus",
+                    Instant.ofEpochMilli(wallMillis), gameTime, kind, gatePos.toShortString(),
+                    dungeonPos == null ? "-" : dungeonPos.toShortString(), structure.isEmpty() ? "-" : structure,
+                    playerId == null ? "-" : playerId, planMicros, probeMicros, placeMicros, teleportMicros);
+        }
+    }
+
+    private static ActivationJournal INSTANCE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long written;
+
+    private ActivationJournal(FileChannel channel, MappedByteBuffer buffer, int capacity, long written) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.written = written;
+    }
+
+    /**
+     * Returns the journal of the given server, opening (or creating) its file on first use.
+     *
+     * @param server The running server.
+     * @return The journal, or null if the file could not be opened.
+     */
+    @Nullable
+    public static ActivationJournal get(MinecraftServer server) {
+        if (INSTANCE == null) {
+            Path path = getPath(server);
+            try {
+                INSTANCE = open(path, DEFAULT_CAPACITY);
+                ChaoticDungeons.LOGGER.debug("ActivationJournal: Opened {} ({} records written so far).", path, INSTANCE.written);
+            } catch (IOException e) {
+                ChaoticDungeons.LOGGER.error("ActivationJournal: Failed to open {}: {}", path, e.getMessage());
+                return null;
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Closes the open journal, if any. Called when the server stops.
+     */
+    public static void close() {
+        if (INSTANCE != null) {
+            try {
+                INSTANCE.buffer.force();
+                INSTANCE.channel.close();
+            } catch (IOException e) {
+                ChaoticDungeons.LOGGER.error("ActivationJournal: Failed to close journal: {}", e.getMessage());
+            }
+            INSTANCE = null;
+        }
+    }
+
+    /**
+     * Returns the location of the journal file inside the world folder.
+     *
+     * @param server The running server.
+     * @return The journal path.
+     */
+    public static Path getPath(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve(ChaoticDungeons.MOD_ID).resolve("activations.journal");
+    }
+
+    private static ActivationJournal open(Path path, int capacity) throws IOException {
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        long written = 0;
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION && buffer.getInt(8) == RECORD_SIZE && buffer.getInt(12) == capacity) {
+            written = buffer.getLong(HEADER_WRITTEN_OFFSET);
+        } else {
+            // New file, or one written with a different layout: start over.
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, RECORD_SIZE);
+            buffer.putInt(12, capacity);
+            buffer.putLong(HEADER_WRITTEN_OFFSET, 0);
+        }
+        return new ActivationJournal(channel, buffer, capacity, written);
+    }
+
+    /**
+     * Appends a record, overwriting the oldest one once the ring is full.
+     *
+     * @param gameTime The level's game time.
+     * @param kind What happened.
+     * @param gatePos The gate's position.
+     * @param dungeonPos The dungeon's position, or null if none was chosen.
+     * @param playerId The activating player, or null for expiries.
+     * @param structure The dungeon's structure id, or an empty string.
+     * @param planNanos Time spent in the worker stages.
+     * @param probeNanos Time spent probing candidate sites on the server thread.
+     * @param placeNanos Time spent placing the structure.
+     * @param teleportNanos Time spent teleporting the player.
+     */
+    public void record(long gameTime, Kind kind, BlockPos gatePos, @Nullable BlockPos dungeonPos, @Nullable UUID playerId, String structure,
+                       long planNanos, long probeNanos, long placeNanos, long teleportNanos) {
+        int offset = HEADER_SIZE + (int) (written % capacity) * RECORD_SIZE;
+        byte[] structureBytes = structure.getBytes(StandardCharsets.UTF_8);
+        int structureLength = Math.min(structureBytes.length, MAX_STRUCTURE_BYTES);
+
+        buffer.putLong(offset, System.currentTimeMillis());
+        buffer.putLong(offset + 8, gameTime);
+        buffer.putLong(offset + 16, gatePos.asLong());
+        buffer.putLong(offset + 24, dungeonPos == null ? Long.MIN_VALUE : dungeonPos.asLong());
+        buffer.putLong(offset + 32, playerId == null ? 0L : playerId.getMostSignificantBits());
+        buffer.putLong(offset + 40, playerId == null ? 0L : playerId.getLeastSignificantBits());
+        buffer.putInt(offset + 48, toMicros(planNanos));
+        buffer.putInt(offset + 52, toMicros(probeNanos));
+        buffer.putInt(offset + 56, toMicros(placeNanos));
+        buffer.putInt(offset + 60, toMicros(teleportNanos));
+        buffer.put(offset + 64, (byte) kind.ordinal());
+        buffer.put(offset + 65, (byte) 0);
+        buffer.putShort(offset + 66, (short) structureLength);
+        buffer.put(offset + 68, structureBytes, 0, structureLength);
+
+        // Publish the record only after it is complete.
+        written++;
+        buffer.putLong(HEADER_WRITTEN_OFFSET, written);
+    }
+
+    /**
+     * Decodes the most recent records, oldest first.
+     *
+     * @param limit The maximum number of records to return.
+     * @return The decoded records.
+     */
+    public List<Entry> readRecent(int limit) {
+        return decode(buffer, capacity, written, limit);
+    }
+
+    /**
+     * Decodes a journal file without a running server.
+     *
+     * @param path The journal file.
+     * @param limit The maximum number of records to return.
+     * @return The decoded records, oldest first.
+     * @throws IOException If the file cannot be read or is not a journal.
+     */
+    public static List<Entry> read(Path path, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not an activation journal: " + path);
+            }
+            return decode(buffer, buffer.getInt(12), buffer.getLong(HEADER_WRITTEN_OFFSET), limit);
+        }
+    }
+
+    private static List<Entry> decode(MappedByteBuffer buffer, int capacity, long written, int limit) {
+        long available = Math.min(written, capacity);
+        long count = Math.min(available, limit);
+        List<Entry> entries = new ArrayList<>((int) count);
+        for (long index = written - count; index < written; index++) {
+            int offset = HEADER_SIZE + (int) (index % capacity) * RECORD_SIZE;
+            long dungeonPos = buffer.getLong(offset + 24);
+            long playerMost = buffer.getLong(offset + 32);
+            long playerLeast = buffer.getLong(offset + 40);
+            int kind = buffer.get(offset + 64);
+            byte[] structureBytes = new byte[buffer.getShort(offset + 66)];
+            buffer.get(offset + 68, structureBytes);
+
+            entries.add(new Entry(
+                    buffer.getLong(offset),
+                    buffer.getLong(offset + 8),
+                    kind >= 0 && kind < Kind.VALUES.length ? Kind.VALUES[kind] : Kind.ACTIVATED,
+                    BlockPos.of(buffer.getLong(offset + 16)),
+                    dungeonPos == Long.MIN_VALUE ? null : BlockPos.of(dungeonPos),
+                    playerMost == 0L && playerLeast == 0L ? null : new UUID(playerMost, playerLeast),
+                    new String(structureBytes, StandardCharsets.UTF_8),
+                    buffer.getInt(offset + 48), buffer.getInt(offset + 52), buffer.getInt(offset + 56), buffer.getInt(offset + 60)));
+        }
+        return entries;
+    }
+
+    private static int toMicros(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, nanos / 1000L));
+    }
+
+    /**
+     * Offline decoder. Usage: {@code ActivationJournal <journal file> [max records]}.
+     *
+     * @param args The journal path and an optional record limit.
+     * @throws IOException If the journal cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ActivationJournal <world>/" + ChaoticDungeons.MOD_ID + "/activations.journal [max records]");
+            System.exit(1);
+        }
+        int limit = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        for (Entry entry : read(Path.of(args[0]), limit)) {
+            System.out.println(entry);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/diagnostics/CapacitySimulator.java
+package com.chaoticdungeons.chaoticdungeons.diagnostics;
+
+import com.chaoticdungeons.chaoticdungeons.capabilities.DungeonGenerationTracker;
+import com.chaoticdungeons.chaoticdungeons.selectors.PositionSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.SearchController;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.Level;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Offline capacity planner for the dungeon site allocator. Replays synthetic activations and gate expiries
+ * against the real {@link DungeonGenerationTracker}, the real candidate proposal and spacing claim of
+ * {@link PositionSelector}, the real {@link SearchController} feedback and the tracker's real NBT persistence,
+ * without a game instance. At each stage of growth it reports the tracked sites, heap use, the compressed
+ * size and save/load time of the tracker, search latency percentiles and the share of failed searches.
+ * <p>
+ * Two parts of an activation need a level and are modelled instead: the terrain site checks accept a fixed
+ * share of candidates at a fixed cost per probe, and pooling keeps a count of free template instances per
+ * structure. Jigsaw dungeons are never pooled, so every jigsaw activation searches a new site.
+ */
+public class CapacitySimulator {
+
+    private static final int STRUCTURES = 8; // Distinct template dungeons the pool can hold instances of
+    private static final double WORLD_BORDER = 59_999_968.0D; // Vanilla default
+    private static final long BUDGET_NANOS = 20_000_000L; // Default search latency budget
+    private static final long PROBE_NANOS = 200_000L; // Modelled cost of the terrain checks per candidate
+    private static final double TERRAIN_ACCEPTANCE = 0.6D; // Modelled share of candidates passing the terrain checks
+    private static final double CANCELLED_RESERVATIONS = 0.05D; // Share of claimed sites released unused
+
+    private record Gate(int structure, boolean pooled) {
+    }
+
+    /**
+     * Runs the simulation. Usage: {@code CapacitySimulator [activations] [jigsaw share] [active gates] [seed]}.
+     * Defaults: 100000 activations, a jigsaw share of 0.5, 32 gates open at once, seed 0.
+     *
+     * @param args The optional simulation parameters.
+     * @throws IOException If the tracker cannot be serialized.
+     */
+    public static void main(String[] args) throws IOException {
+        int activations = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        double jigsawShare = args.length > 1 ? Double.parseDouble(args[1]) : 0.5D;
+        int activeGates = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+        Random random = new Random(seed);
+        DungeonGenerationTracker tracker = new DungeonGenerationTracker();
+        SearchController controller = SearchController.detached();
+        Deque<Gate> open = new ArrayDeque<>();
+        int[] freeInstances = new int[STRUCTURES];
+        LongArrayList stageLatencies = new LongArrayList();
+        int stageSearches = 0;
+        int stageFailures = 0;
+        int reused = 0;
+        int outerRadius = 0;
+        long nextReport = 1_000L;
+
+        System.out.printf("Simulating %d activations (jigsaw share %.2f, %d open gates, seed %d)%n", activations, jigsawShare, activeGates, seed);
+        System.out.printf("%10s %9s %9s %7s %9s %9s %9s %9s %8s %10s %8s %8s %9s%n", "activations", "sites", "reused", "fail%",
+                "p50 us", "p90 us", "p99 us", "max us", "heap MB", "nbt bytes", "save ms", "load ms", "radius");
+
+        for (int activation = 1; activation <= activations; activation++) {
+            // Gates expire in the order they were opened; pooled instances go back to the pool.
+            if (open.size() >= activeGates) {
+                Gate expired = open.poll();
+                if (expired.pooled()) {
+                    freeInstances[expired.structure()]++;
+                }
+            }
+
+            boolean jigsaw = random.nextDouble() < jigsawShare;
+            int structure = random.nextInt(STRUCTURES);
+            if (!jigsaw && freeInstances[structure] > 0) {
+                freeInstances[structure]--;
+                open.add(new Gate(structure, true));
+                reused++;
+            } else {
+                long start = System.nanoTime();
+                Collection<BlockPos> existing = List.copyOf(tracker.getGeneratedDungeonPositions()); // The snapshot the server takes
+                SearchController.SearchParameters parameters = controller.parameters(WORLD_BORDER, existing.size(), BUDGET_NANOS);
+                List<BlockPos> candidates = PositionSelector.proposeCandidates(BlockPos.ZERO, existing, controller, parameters, random);
+                List<BlockPos> sites = new ArrayList<>();
+                for (BlockPos candidate : candidates) {
+                    if (random.nextDouble() < TERRAIN_ACCEPTANCE) {
+                        sites.add(candidate.atY(64));
+                    }
+                }
+                controller.recordProbes(candidates.size(), candidates.size() * PROBE_NANOS);
+                Optional<BlockPos> claimed = PositionSelector.claimSpaced(tracker, sites, null, Level.OVERWORLD);
+                stageLatencies.add(System.nanoTime() - start);
+                stageSearches++;
+                outerRadius = parameters.outerRadius();
+
+                if (claimed.isEmpty()) {
+                    stageFailures++;
+                } else if (random.nextDouble() < CANCELLED_RESERVATIONS) {
+                    tracker.removeGeneratedDungeonPosition(claimed.get());
+                } else {
+                    open.add(new Gate(structure, !jigsaw));
+                }
+            }
+
+            if (activation == nextReport || activation == activations) {
+                report(activation, tracker, reused, stageSearches, stageFailures, stageLatencies, outerRadius);
+                stageLatencies.clear();
+                stageSearches = 0;
+                stageFailures = 0;
+                nextReport = nextStage(nextReport);
+            }
+        }
+    }
+
+    /**
+     * Returns the next report point on a 1-2-5 scale.
+     */
+    private static long nextStage(long stage) {
+        long magnitude = 1L;
+        while (magnitude * 10L <= stage) {
+            magnitude *= 10L;
+        }
+        long leading = stage / magnitude;
+        return (leading == 1L ? 2L : leading == 2L ? 5L : 10L) * magnitude;
+    }
+
+    private static void report(int activations, DungeonGenerationTracker tracker, int reused, int searches, int failures,
+                               LongArrayList latencies, int outerRadius) throws IOException {
+        long[] sorted = latencies.toLongArray();
+        Arrays.sort(sorted);
+
+        // Persist and reload the tracker the way the capability does, inside a compressed level data tag.
+        long saveStart = System.nanoTime();
+        CompoundTag root = new CompoundTag();
+        root.put("Tracker", tracker.serializeNBT());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(root, bytes);
+        long saveNanos = System.nanoTime() - saveStart;
+
+        long loadStart = System.nanoTime();
+        CompoundTag loaded = NbtIo.readCompressed(new ByteArrayInputStream(bytes.toByteArray()));
+        new DungeonGenerationTracker().deserializeNBT(loaded.getList("Tracker", Tag.TAG_COMPOUND));
+        long loadNanos = System.nanoTime() - loadStart;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBytes = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("%10d %9d %9d %7.2f %9d %9d %9d %9d %8.1f %10d %8.1f %8.1f %9d%n",
+                activations, tracker.getGeneratedDungeonPositions().size(), reused,
+                searches == 0 ? 0.0D : 100.0D * failures / searches,
+                percentile(sorted, 0.50D), percentile(sorted, 0.90D), percentile(sorted, 0.99D), percentile(sorted, 1.0D),
+                heapBytes / (1024.0D * 1024.0D), bytes.size(), saveNanos / 1_000_000.0D, loadNanos / 1_000_000.0D, outerRadius);
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1000L;
+    }
+}
@@ -0,0 +1,300 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/diagnostics/StressHarness.java
+package com.chaoticdungeons.chaoticdungeons.diagnostics;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.blockentities.GateBlockEntity;
+import com.chaoticdungeons.chaoticdungeons.blocks.gateblocks.GateBlock;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonChunkTickets;
+import com.chaoticdungeons.chaoticdungeons.items.keys.BaseKeyItem;
+import com.chaoticdungeons.chaoticdungeons.registration.ModRegisters;
+import com.mojang.authlib.GameProfile;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-game load harness for dungeon activations, driven by {@code /chaoticdungeons stress <count> <rate>}.
+ * It places a grid of basic gates high above the operator and activates them with bronze keys held by
+ * fake players at the given rate, so the real pipeline runs end to end: reservation, selection, site search,
+ * placement and the arrival chunk warm-up. While it runs it samples tick times and loaded chunks; when it is
+ * done it reports those together with the latency of each phase, then removes every gate it placed, which
+ * also hands their dungeons back to the pool and releases their chunk tickets and reservations.
+ * <p>
+ * Fake players are not in the player list, so activations skip the teleport itself. The harness warms up
+ * the arrival chunks of every activated dungeon instead and times that as the teleport phase would.
+ */
+public class StressHarness {
+
+    private static final int GATES_PER_ROW = 16;
+    private static final int GATE_SPACING = 3; // Blocks between gates in the grid
+    private static final int REPORT_INTERVAL = 100; // Ticks between progress messages
+    private static final int DRAIN_TIMEOUT = 20 * 60; // Ticks to wait for pending activations when stopping
+    private static final String PLAYER_NAME = "[CDStress]";
+
+    private static Run RUN;
+
+    private StressHarness() {
+    }
+
+    private static final class Run {
+        private final ServerLevel level;
+        private final CommandSourceStack source;
+        private final double activationsPerTick;
+        private final List<BlockPos> gates;
+        private final Map<BlockPos, Long> inFlight = new LinkedHashMap<>(); // Gate -> activation start (nanos)
+        private final LongArrayList activationNanos = new LongArrayList();
+        private final LongArrayList warmUpNanos = new LongArrayList();
+        private final long startGameTime;
+        private final long startNanos = System.nanoTime();
+        private final int startChunks;
+        private double credit;
+        private int started;
+        private int activated;
+        private int failed;
+        private int warmUps;
+        private int ticks;
+        private double tickMillisSum;
+        private double peakTickMillis;
+        private int peakChunks;
+        private boolean stopping;
+        private int drainTicks;
+
+        private Run(ServerLevel level, CommandSourceStack source, int rate, List<BlockPos> gates) {
+            this.level = level;
+            this.source = source;
+            this.activationsPerTick = rate / 20.0D;
+            this.gates = gates;
+            this.startGameTime = level.getGameTime();
+            this.startChunks = level.getChunkSource().getLoadedChunksCount();
+            this.peakChunks = startChunks;
+        }
+    }
+
+    /**
+     * Starts a run. Only one run can be active at a time.
+     *
+     * @param source The command source; the gates are placed above its position and progress is reported to it.
+     * @param count The number of gates to place and activate.
+     * @param rate The number of activations started per second.
+     * @return The number of gates placed, or 0 if a run is already active or no gate could be placed.
+     */
+    public static int start(CommandSourceStack source, int count, int rate) {
+        if (RUN != null) {
+            source.sendFailure(Component.literal("A stress run is already active; stop it with /chaoticdungeons stress stop."));
+            return 0;
+        }
+
+        ServerLevel level = source.getLevel();
+        BlockPos origin = BlockPos.containing(source.getPosition());
+        int y = level.getMaxBuildHeight() - 1;
+        List<BlockPos> gates = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = new BlockPos(origin.getX() + (i % GATES_PER_ROW) * GATE_SPACING, y, origin.getZ() + (i / GATES_PER_ROW) * GATE_SPACING);
+            if (level.isLoaded(pos) && level.getBlockState(pos).isAir()
+                    && level.setBlock(pos, ModRegisters.BASIC_GATE_BLOCK.get().defaultBlockState(), Block.UPDATE_ALL)) {
+                gates.add(pos);
+            }
+        }
+        if (gates.isEmpty()) {
+            source.sendFailure(Component.literal("No gate could be placed above your position; move to loaded, open terrain."));
+            return 0;
+        }
+
+        RUN = new Run(level, source, rate, gates);
+        ChaoticDungeons.LOGGER.info("StressHarness: Started {} activation(s) at {}/s in {} around {}.", gates.size(), rate, level.dimension().location(), origin);
+        source.sendSuccess(() -> Component.literal(String.format("Stress run started: %d gate(s) at Y %d, %d activation(s) per second.", gates.size(), y, rate)), true);
+        return gates.size();
+    }
+
+    /**
+     * Stops starting activations. The run finishes once the activations already started are done.
+     *
+     * @param source The command source.
+     * @return 1 if a run was stopping, 0 if none was active.
+     */
+    public static int stop(CommandSourceStack source) {
+        if (RUN == null) {
+            source.sendFailure(Component.literal("No stress run is active."));
+            return 0;
+        }
+        RUN.stopping = true;
+        int pending = RUN.inFlight.size();
+        source.sendSuccess(() -> Component.literal(String.format("Stopping the stress run; waiting for %d pending activation(s).", pending)), true);
+        return 1;
+    }
+
+    /**
+     * Starts due activations, collects finished ones and samples the server's load.
+     *
+     * @param event The ServerTickEvent instance.
+     */
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        Run run = RUN;
+        if (event.phase != TickEvent.Phase.END || run == null) {
+            return;
+        }
+        MinecraftServer server = event.getServer();
+        run.ticks++;
+        double tickMillis = server.tickTimes[server.getTickCount() % server.tickTimes.length] / 1_000_000.0D;
+        run.tickMillisSum += tickMillis;
+        run.peakTickMillis = Math.max(run.peakTickMillis, tickMillis);
+        run.peakChunks = Math.max(run.peakChunks, run.level.getChunkSource().getLoadedChunksCount());
+
+        if (!run.stopping) {
+            run.credit += run.activationsPerTick;
+            while (run.credit >= 1.0D && run.started < run.gates.size()) {
+                run.credit -= 1.0D;
+                activate(run, run.gates.get(run.started++));
+            }
+        }
+        collect(run);
+
+        if (run.ticks % REPORT_INTERVAL == 0) {
+            String progress = String.format("Stress: %d/%d started, %d activated, %d failed, MSPT %.1f (peak %.1f), %d chunks loaded.",
+                    run.started, run.gates.size(), run.activated, run.failed, server.getAverageTickTime(), run.peakTickMillis,
+                    run.level.getChunkSource().getLoadedChunksCount());
+            run.source.sendSuccess(() -> Component.literal(progress), false);
+        }
+
+        boolean drained = run.inFlight.isEmpty() && run.warmUps == 0;
+        if (run.stopping && !drained && ++run.drainTicks > DRAIN_TIMEOUT) {
+            ChaoticDungeons.LOGGER.warn("StressHarness: {} activation(s) still pending after {} ticks; removing their gates anyway.", run.inFlight.size(), DRAIN_TIMEOUT);
+            drained = true;
+        }
+        if (drained && (run.stopping || run.started == run.gates.size())) {
+            finish(run);
+        }
+    }
+
+    private static void activate(Run run, BlockPos pos) {
+        if (!(run.level.getBlockEntity(pos) instanceof GateBlockEntity gate)) {
+            run.failed++;
+            return;
+        }
+        // A fresh fake player per gate, so that every activation has its own player like a real one would.
+        UUID id = UUID.nameUUIDFromBytes(("chaotic_dungeons_stress:" + pos.asLong()).getBytes(StandardCharsets.UTF_8));
+        FakePlayer player = new FakePlayer(run.level, new GameProfile(id, PLAYER_NAME));
+        player.setPos(pos.getX() + 0.5D, pos.getY() + 1.0D, pos.getZ() + 0.5D);
+        long start = System.nanoTime();
+        if (gate.activate(player, (BaseKeyItem) ModRegisters.BRONZE_KEY.get())) {
+            run.inFlight.put(pos, start);
+        } else {
+            run.failed++;
+        }
+    }
+
+    /**
+     * Records activations that are no longer pending and warms up the arrival chunks of the successful ones.
+     */
+    private static void collect(Run run) {
+        run.inFlight.entrySet().removeIf(entry -> {
+            if (run.level.getBlockEntity(entry.getKey()) instanceof GateBlockEntity gate && gate.isActivationPending()) {
+                return false;
+            }
+            run.activationNanos.add(System.nanoTime() - entry.getValue());
+            if (run.level.getBlockEntity(entry.getKey()) instanceof GateBlockEntity gate && gate.isActive()) {
+                run.activated++;
+                run.warmUps++;
+                long warmUpStart = System.nanoTime();
+                DungeonChunkTickets.warmUp(run.level, gate.getGeneratedDungeonPos()).whenComplete((ignored, error) -> {
+                    run.warmUpNanos.add(System.nanoTime() - warmUpStart);
+                    run.warmUps--;
+                });
+            } else {
+                run.failed++;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes the run's gates and reports its results.
+     */
+    private static void finish(Run run) {
+        RUN = null;
+        int removed = 0;
+        for (BlockPos pos : run.gates) {
+            if (run.level.getBlockState(pos).getBlock() instanceof GateBlock) {
+                run.level.setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_ALL);
+                removed++;
+            }
+        }
+
+        double seconds = (System.nanoTime() - run.startNanos) / 1_000_000_000.0D;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Stress run done in %.1fs: %d started, %d activated, %d failed, %d gate(s) removed.",
+                seconds, run.started, run.activated, run.failed, removed));
+        lines.add(String.format("MSPT avg %.1f, peak %.1f; chunks loaded %d at start, peak %d, %d now.",
+                run.ticks == 0 ? 0.0D : run.tickMillisSum / run.ticks, run.peakTickMillis, run.startChunks, run.peakChunks,
+                run.level.getChunkSource().getLoadedChunksCount()));
+        lines.add("Activation (key use to committed) " + summarize(run.activationNanos.toLongArray()));
+
+        // The per-phase timings come from the journal records the pipeline wrote for the run's gates.
+        ActivationJournal journal = ActivationJournal.get(run.level.getServer());
+        if (journal != null) {
+            Set<BlockPos> gates = new HashSet<>(run.gates);
+            List<ActivationJournal.Entry> entries = journal.readRecent(run.started * 2).stream()
+                    .filter(entry -> entry.gameTime() >= run.startGameTime && gates.contains(entry.gatePos()))
+                    .filter(entry -> entry.kind() == ActivationJournal.Kind.ACTIVATED || entry.kind() == ActivationJournal.Kind.REUSED)
+                    .toList();
+            lines.add("Plan " + summarize(micros(entries, ActivationJournal.Entry::planMicros)));
+            lines.add("Probe " + summarize(micros(entries, ActivationJournal.Entry::probeMicros)));
+            lines.add("Place " + summarize(micros(entries, ActivationJournal.Entry::placeMicros)));
+        }
+        lines.add("Arrival warm-up " + summarize(run.warmUpNanos.toLongArray()));
+
+        for (String line : lines) {
+            ChaoticDungeons.LOGGER.info("StressHarness: {}", line);
+            run.source.sendSuccess(() -> Component.literal(line), true);
+        }
+    }
+
+    private static long[] micros(List<ActivationJournal.Entry> entries, ToLongFunction<ActivationJournal.Entry> phase) {
+        return entries.stream().mapToLong(entry -> phase.applyAsLong(entry) * 1000L).toArray();
+    }
+
+    private static String summarize(long[] nanos) {
+        if (nanos.length == 0) {
+            return "latency: no samples";
+        }
+        Arrays.sort(nanos);
+        return String.format("latency over %d: p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms", nanos.length,
+                percentile(nanos, 0.50D), percentile(nanos, 0.90D), percentile(nanos, 0.99D), percentile(nanos, 1.0D));
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0D;
+    }
+
+    /**
+     * Finishes an active run before the server stops, so that its gates do not stay in the world.
+     *
+     * @param event The ServerStoppingEvent instance.
+     */
+    public static void onServerStopping(ServerStoppingEvent event) {
+        if (RUN != null) {
+            ChaoticDungeons.LOGGER.info("StressHarness: Server stopping; ending the stress run.");
+            finish(RUN);
+        }
+    }
+}
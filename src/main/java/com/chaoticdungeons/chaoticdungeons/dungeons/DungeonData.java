@@ -2,19 +2,107 @@
 package com.chaoticdungeons.chaoticdungeons.dungeons;
 
 import com.google.gson.annotations.SerializedName;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.biome.Biome;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A record representing the data for a single dungeon, parsed from a JSON file.
  * Records are immutable data classes, ideal for holding configuration like this.
  *
- * @param structure The resource location path to the NBT structure file (e.g., "chaotic_dungeons:dungeons/basic_dungeon_1").
+ * @param structure The resource location path to the NBT structure file (e.g., "chaotic_dungeons:dungeons/basic_dungeon_1"),
+ *                  or, for jigsaw layouts, the id of a jigsaw structure or of a start template pool,
+ *                  or, for natural layouts, the id of a structure that generates with the world.
  * @param type The type of the dungeon (e.g., "basic", "cave", "sewerage", "dark").
  * @param difficulty The difficulty level of the dungeon (1-5).
+ * @param biomes Optional biome tag (e.g., "#minecraft:is_mountain") the dungeon's site must lie in; null for any biome.
+ * @param layout How {@code structure} is interpreted: "template" (default), "jigsaw" (a worldgen jigsaw structure),
+ *               "pool" (a start template pool, assembled with {@code size} jigsaw steps) or "natural" (an unclaimed,
+ *               naturally generated start of a worldgen structure near the gate; nothing is placed).
+ * @param size The maximum jigsaw depth for "pool" layouts.
+ * @param lazy For jigsaw layouts: place only the entry room at activation and the other rooms as players approach.
+ * @param processors For template layouts: optional id of a processor list (e.g. "minecraft:mossify_10_percent")
+ *                   applied to the template's blocks when it is placed.
  */
 public record DungeonData(
         @SerializedName("structure") String structure,
         @SerializedName("type") String type,
-        @SerializedName("difficulty") int difficulty) {
+        @SerializedName("difficulty") int difficulty,
+        @SerializedName("biomes") @Nullable String biomes,
+        @SerializedName("layout") @Nullable String layout,
+        @SerializedName("size") int size,
+        @SerializedName("lazy") boolean lazy,
+        @SerializedName("processors") @Nullable String processors) {
+
+    /**
+     * How a dungeon's structure is assembled.
+     */
+    public enum Layout {
+        TEMPLATE, JIGSAW, POOL, NATURAL
+    }
+
+    /**
+     * Parses the layout field.
+     *
+     * @return The layout, or null if the field holds an unknown value.
+     */
+    @Nullable
+    public Layout layoutKind() {
+        if (layout == null || layout.isEmpty()) {
+            return Layout.TEMPLATE;
+        }
+        for (Layout kind : Layout.values()) {
+            if (kind.name().equalsIgnoreCase(layout)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the dungeon is assembled from jigsaw pieces rather than placed from a single template.
+     *
+     * @return True for "jigsaw" and "pool" layouts.
+     */
+    public boolean isJigsaw() {
+        Layout kind = layoutKind();
+        return kind == Layout.JIGSAW || kind == Layout.POOL;
+    }
+
+    /**
+     * Whether the dungeon is an existing, naturally generated structure rather than one placed on activation.
+     *
+     * @return True for "natural" layouts.
+     */
+    public boolean isNatural() {
+        return layoutKind() == Layout.NATURAL;
+    }
+
+    /**
+     * Parses the optional biome filter.
+     *
+     * @return The biome tag the dungeon is limited to, or null if it may generate in any biome or the tag is malformed.
+     */
+    @Nullable
+    public TagKey<Biome> biomeTag() {
+        if (biomes == null || biomes.isEmpty()) {
+            return null;
+        }
+        ResourceLocation location = ResourceLocation.tryParse(biomes.startsWith("#") ? biomes.substring(1) : biomes);
+        return location == null ? null : TagKey.create(Registries.BIOME, location);
+    }
+
+    /**
+     * Parses the optional processor list id.
+     *
+     * @return The processor list applied on placement, or null if there is none or the id is malformed.
+     */
+    @Nullable
+    public ResourceLocation processorList() {
+        return processors == null || processors.isEmpty() ? null : ResourceLocation.tryParse(processors);
+    }
 
     /**
      * Validates if the dungeon type is one of the predefined valid types.
@@ -0,0 +1,101 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/DungeonIdMap.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-world table of stable numeric ids for dungeon structure and type strings.
+ * Gates store these ids instead of strings, both in chunk NBT and on the heap.
+ * Ids are assigned on first use and never reused, so a datapack change cannot remap an existing gate.
+ * The table is stored with the overworld's saved data and shared by all dimensions.
+ */
+public class DungeonIdMap extends SavedData {
+
+    private static final String DATA_NAME = ChaoticDungeons.MOD_ID + "_ids";
+
+    // Id 0 is reserved for "none"; names.get(i) has id i + 1.
+    private final List<String> names = new ArrayList<>();
+    private final Object2IntMap<String> ids = new Object2IntOpenHashMap<>();
+
+    /**
+     * Returns the id table of the given server, loading or creating it on first use.
+     *
+     * @param server The running server.
+     * @return The world's DungeonIdMap.
+     */
+    public static DungeonIdMap get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(DungeonIdMap::load, DungeonIdMap::new, DATA_NAME);
+    }
+
+    /**
+     * Returns the id of a name, assigning a new one if it has none yet.
+     *
+     * @param name The structure or type string.
+     * @return The id, or 0 for a null or empty name.
+     */
+    public int getOrAssign(String name) {
+        if (name == null || name.isEmpty()) {
+            return 0;
+        }
+        int id = ids.getInt(name);
+        if (id == 0) {
+            names.add(name);
+            id = names.size();
+            ids.put(name, id);
+            setDirty();
+            ChaoticDungeons.LOGGER.debug("DungeonIdMap: Assigned id {} to '{}'.", id, name);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a name without assigning one.
+     *
+     * @param name The structure or type string.
+     * @return The id, or 0 if the name has none.
+     */
+    public int getId(String name) {
+        return name == null ? 0 : ids.getInt(name);
+    }
+
+    /**
+     * Returns the name behind an id.
+     *
+     * @param id The id.
+     * @return The name, or an empty string for 0 or unknown ids.
+     */
+    public String getName(int id) {
+        return id > 0 && id <= names.size() ? names.get(id - 1) : "";
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (String name : names) {
+            list.add(StringTag.valueOf(name));
+        }
+        tag.put("Names", list);
+        return tag;
+    }
+
+    private static DungeonIdMap load(CompoundTag tag) {
+        DungeonIdMap map = new DungeonIdMap();
+        ListTag list = tag.getList("Names", Tag.TAG_STRING);
+        for (int i = 0; i < list.size(); i++) {
+            map.names.add(list.getString(i));
+            map.ids.put(list.getString(i), i + 1);
+        }
+        return map;
+    }
+}
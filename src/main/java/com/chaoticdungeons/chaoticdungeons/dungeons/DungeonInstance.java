@@ -0,0 +1,387 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/DungeonInstance.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.handlers.StructureSummoner;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Mirror;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A placed dungeon structure that is kept in the world and reused by later activations.
+ * While it exists, every block change inside its bounds is recorded once, together with the state
+ * the block had in the freshly placed dungeon. Restoring the instance writes those states back,
+ * so a reset costs as many block writes as there were changed blocks.
+ * The template's entities are not placed with the blocks; they are kept as dormant {@link EntityGroup}s
+ * per room and only spawned while a player is near. Likewise, the block and fluid ticks the placement
+ * scheduled are held as {@link FrozenTicks} until the first player enters the dungeon.
+ */
+public class DungeonInstance {
+
+    private final int id;
+    private final String structure;
+    private final BlockPos origin;
+    private final Rotation rotation;
+    private final BoundingBox bounds;
+    private boolean inUse;
+
+    // The processor list and variant the instance was placed from, if it was placed from processed blocks.
+    @Nullable
+    private final ResourceLocation processors;
+    private final int variant;
+
+    // Original state of every block changed since the last reset, keyed by BlockPos.asLong().
+    private final Long2ObjectMap<BlockState> delta = new Long2ObjectOpenHashMap<>();
+
+    // Dormant or awake template entities per room, keyed by SectionPos.asLong().
+    private final Long2ObjectMap<EntityGroup> entityGroups = new Long2ObjectOpenHashMap<>();
+
+    // Scheduled ticks held back until a player enters the bounds.
+    private FrozenTicks frozenTicks = new FrozenTicks();
+
+    // Block states and block entity data of the freshly placed template, in world coordinates. Built on first use.
+    @Nullable
+    private Long2ObjectMap<BlockState> referenceStates;
+    @Nullable
+    private Long2ObjectMap<CompoundTag> referenceBlockEntities;
+
+    DungeonInstance(int id, String structure, BlockPos origin, Rotation rotation, BoundingBox bounds, boolean inUse,
+                    @Nullable ResourceLocation processors, int variant) {
+        this.id = id;
+        this.structure = structure;
+        this.origin = origin;
+        this.rotation = rotation;
+        this.bounds = bounds;
+        this.inUse = inUse;
+        this.processors = processors;
+        this.variant = variant;
+    }
+
+    /**
+     * Records the original state of a changed block. Only the first change of a position since the last
+     * reset is kept. The original state is taken from the placed template where it covers the position,
+     * otherwise from {@code previousState}.
+     *
+     * @param level The ServerLevel the instance is in.
+     * @param pos The changed position, inside {@link #getBounds()}.
+     * @param previousState The state before the change, or null if the caller does not know it.
+     * @return True if the delta grew.
+     */
+    boolean recordChange(ServerLevel level, BlockPos pos, @Nullable BlockState previousState) {
+        long key = pos.asLong();
+        if (delta.containsKey(key)) {
+            return false;
+        }
+        BlockState original = getReferenceStates(level).get(key);
+        if (original == null) {
+            original = previousState;
+        }
+        if (original == null) {
+            return false;
+        }
+        delta.put(key, original);
+        return true;
+    }
+
+    /**
+     * Restores every recorded block to its original state and reloads the template's block entity data,
+     * then clears the delta. Blocks are written without neighbour updates; the restored layout is the
+     * same one the template placement produced.
+     *
+     * @param level The ServerLevel the instance is in.
+     * @return The number of blocks written.
+     */
+    int restore(ServerLevel level) {
+        int written = 0;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (Long2ObjectMap.Entry<BlockState> entry : delta.long2ObjectEntrySet()) {
+            pos.set(entry.getLongKey());
+            if (level.getBlockState(pos) != entry.getValue()) {
+                level.setBlock(pos, entry.getValue(), Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+                written++;
+            }
+        }
+        delta.clear();
+
+        // Containers and spawners change without any block update, so their data is always reloaded.
+        for (Long2ObjectMap.Entry<CompoundTag> entry : getReferenceBlockEntities(level).long2ObjectEntrySet()) {
+            pos.set(entry.getLongKey());
+            BlockEntity blockEntity = level.getBlockEntity(pos);
+            if (blockEntity != null) {
+                CompoundTag tag = entry.getValue().copy();
+                tag.putInt("x", pos.getX());
+                tag.putInt("y", pos.getY());
+                tag.putInt("z", pos.getZ());
+                blockEntity.load(tag);
+                blockEntity.setChanged();
+            }
+        }
+        resetEntities(level);
+        freezeTicks(level);
+        ChaoticDungeons.LOGGER.debug("DungeonInstance: Restored instance {} ({}) at {} with {} block writes.", id, structure, origin, written);
+        return written;
+    }
+
+    /**
+     * Removes every spawned template entity and rebuilds the dormant records from the template.
+     *
+     * @param level The ServerLevel the instance is in.
+     */
+    void resetEntities(ServerLevel level) {
+        for (EntityGroup group : entityGroups.values()) {
+            group.discard(level);
+        }
+        entityGroups.clear();
+        Optional<StructureTemplate> template = level.getStructureManager().get(new ResourceLocation(structure));
+        if (template.isEmpty()) {
+            return;
+        }
+        for (CompoundTag entityTag : TemplateSnapshot.of(template.get()).getEntities()) {
+            ListTag posTag = entityTag.getList("pos", Tag.TAG_DOUBLE);
+            Vec3 local = new Vec3(posTag.getDouble(0), posTag.getDouble(1), posTag.getDouble(2));
+            Vec3 world = StructureTemplate.transform(local, Mirror.NONE, rotation, BlockPos.ZERO).add(Vec3.atLowerCornerOf(origin));
+
+            CompoundTag record = entityTag.getCompound("nbt").copy();
+            ListTag worldPos = new ListTag();
+            worldPos.add(DoubleTag.valueOf(world.x));
+            worldPos.add(DoubleTag.valueOf(world.y));
+            worldPos.add(DoubleTag.valueOf(world.z));
+            record.put("Pos", worldPos);
+            // Same yaw change Entity.rotate(Rotation) applies when templates place entities
+            ListTag rotationTag = record.getList("Rotation", Tag.TAG_FLOAT);
+            if (rotationTag.size() == 2) {
+                float yaw = rotationTag.getFloat(0) + 90.0F * rotation.ordinal();
+                rotationTag.set(0, FloatTag.valueOf(yaw));
+            }
+            long section = SectionPos.asLong(BlockPos.containing(world));
+            entityGroups.computeIfAbsent(section, EntityGroup::new).addRecord(record);
+        }
+    }
+
+    /**
+     * Wakes the rooms a player has come within {@code radius} of and puts rooms every player has left
+     * (beyond {@code sleepRadius}) back to sleep.
+     *
+     * @param level The ServerLevel the instance is in.
+     * @param players Positions of the players in the level.
+     * @param radius The wake-up radius.
+     * @param sleepRadius The radius beyond which awake rooms go back to sleep; at least {@code radius}.
+     * @return True if any room changed state.
+     */
+    boolean updateEntities(ServerLevel level, List<Vec3> players, double radius, double sleepRadius) {
+        if (entityGroups.isEmpty()) {
+            return false;
+        }
+        AABB reach = AABB.of(bounds).inflate(sleepRadius);
+        boolean anyPlayerNear = players.stream().anyMatch(reach::contains);
+        boolean changed = false;
+        for (EntityGroup group : entityGroups.values()) {
+            if (!anyPlayerNear && !group.isAwake()) {
+                continue;
+            }
+            Vec3 center = Vec3.atCenterOf(group.getCenter());
+            double nearest = Double.MAX_VALUE;
+            for (Vec3 player : players) {
+                nearest = Math.min(nearest, player.distanceToSqr(center));
+            }
+            if (!group.isAwake() && nearest <= radius * radius) {
+                int spawned = group.wake(level);
+                ChaoticDungeons.LOGGER.debug("DungeonInstance: Woke {} entities in room {} of instance {}.", spawned, group.getCenter(), id);
+                changed = true;
+            } else if (group.isAwake() && nearest > sleepRadius * sleepRadius) {
+                int stored = group.sleep(level);
+                ChaoticDungeons.LOGGER.debug("DungeonInstance: Put {} entities in room {} of instance {} to sleep.", stored, group.getCenter(), id);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Takes the ticks scheduled inside the dungeon out of the level until a player enters it.
+     * Called right after the dungeon was placed or restored.
+     *
+     * @param level The ServerLevel the instance is in.
+     */
+    void freezeTicks(ServerLevel level) {
+        int frozen = frozenTicks.freeze(level, bounds);
+        if (frozen > 0) {
+            ChaoticDungeons.LOGGER.debug("DungeonInstance: Froze {} scheduled ticks of instance {}.", frozen, id);
+        }
+    }
+
+    /**
+     * Schedules the frozen ticks again once a player is inside the bounds.
+     *
+     * @param level The ServerLevel the instance is in.
+     * @param players Positions of the players in the level.
+     * @return True if the ticks were thawed.
+     */
+    boolean thawTicks(ServerLevel level, List<Vec3> players) {
+        if (frozenTicks.isEmpty()) {
+            return false;
+        }
+        AABB inside = AABB.of(bounds);
+        if (players.stream().noneMatch(inside::contains)) {
+            return false;
+        }
+        int thawed = frozenTicks.thaw(level);
+        ChaoticDungeons.LOGGER.debug("DungeonInstance: Thawed {} scheduled ticks of instance {}.", thawed, id);
+        return true;
+    }
+
+    private Long2ObjectMap<BlockState> getReferenceStates(ServerLevel level) {
+        if (referenceStates == null) {
+            buildReference(level);
+        }
+        return referenceStates;
+    }
+
+    private Long2ObjectMap<CompoundTag> getReferenceBlockEntities(ServerLevel level) {
+        if (referenceBlockEntities == null) {
+            buildReference(level);
+        }
+        return referenceBlockEntities;
+    }
+
+    private void buildReference(ServerLevel level) {
+        referenceStates = new Long2ObjectOpenHashMap<>();
+        referenceBlockEntities = new Long2ObjectOpenHashMap<>();
+        Optional<StructureTemplate> template = level.getStructureManager().get(new ResourceLocation(structure));
+        if (template.isEmpty()) {
+            ChaoticDungeons.LOGGER.warn("DungeonInstance: Template {} of instance {} is missing; only recorded states can be restored.", structure, id);
+            return;
+        }
+        // Processed blocks are the exact layout that was placed; their positions are already offsets from the origin.
+        Optional<ProcessedTemplate> processed = processors == null
+                ? Optional.empty()
+                : ProcessedTemplate.get(level.registryAccess(), template.get(), rotation, processors, variant);
+        if (processed.isPresent()) {
+            for (StructureTemplate.StructureBlockInfo info : processed.get().getBlocks()) {
+                long key = info.pos().offset(origin).asLong();
+                referenceStates.put(key, info.state());
+                if (info.nbt() != null) {
+                    referenceBlockEntities.put(key, info.nbt());
+                }
+            }
+            return;
+        }
+        StructurePlaceSettings settings = StructureSummoner.createPlaceSettings(rotation);
+        for (StructureTemplate.StructureBlockInfo info : TemplateSnapshot.of(template.get()).getBlocks()) {
+            long key = StructureTemplate.calculateRelativePosition(settings, info.pos()).offset(origin).asLong();
+            referenceStates.put(key, info.state().rotate(rotation));
+            if (info.nbt() != null) {
+                referenceBlockEntities.put(key, info.nbt());
+            }
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getStructure() {
+        return structure;
+    }
+
+    public BlockPos getOrigin() {
+        return origin;
+    }
+
+    public Rotation getRotation() {
+        return rotation;
+    }
+
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    public boolean isInUse() {
+        return inUse;
+    }
+
+    void setInUse(boolean inUse) {
+        this.inUse = inUse;
+    }
+
+    /**
+     * Returns the number of blocks changed since the last reset.
+     *
+     * @return The delta size.
+     */
+    public int getDeltaSize() {
+        return delta.size();
+    }
+
+    CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putInt("Id", id);
+        tag.putString("Structure", structure);
+        tag.putLong("Origin", origin.asLong());
+        tag.putString("Rotation", rotation.name());
+        tag.putIntArray("Bounds", new int[]{bounds.minX(), bounds.minY(), bounds.minZ(), bounds.maxX(), bounds.maxY(), bounds.maxZ()});
+        tag.putBoolean("InUse", inUse);
+        if (processors != null) {
+            tag.putString("Processors", processors.toString());
+            tag.putInt("Variant", variant);
+        }
+        ListTag deltaTag = new ListTag();
+        for (Long2ObjectMap.Entry<BlockState> entry : delta.long2ObjectEntrySet()) {
+            CompoundTag change = new CompoundTag();
+            change.putLong("P", entry.getLongKey());
+            change.put("S", NbtUtils.writeBlockState(entry.getValue()));
+            deltaTag.add(change);
+        }
+        tag.put("Delta", deltaTag);
+        ListTag groupsTag = new ListTag();
+        for (EntityGroup group : entityGroups.values()) {
+            groupsTag.add(group.save());
+        }
+        tag.put("Entities", groupsTag);
+        tag.put("FrozenTicks", frozenTicks.save());
+        return tag;
+    }
+
+    static DungeonInstance load(CompoundTag tag) {
+        int[] b = tag.getIntArray("Bounds");
+        DungeonInstance instance = new DungeonInstance(tag.getInt("Id"), tag.getString("Structure"), BlockPos.of(tag.getLong("Origin")),
+                Rotation.valueOf(tag.getString("Rotation")), new BoundingBox(b[0], b[1], b[2], b[3], b[4], b[5]), tag.getBoolean("InUse"),
+                tag.contains("Processors", Tag.TAG_STRING) ? ResourceLocation.tryParse(tag.getString("Processors")) : null, tag.getInt("Variant"));
+        ListTag deltaTag = tag.getList("Delta", Tag.TAG_COMPOUND);
+        for (int i = 0; i < deltaTag.size(); i++) {
+            CompoundTag change = deltaTag.getCompound(i);
+            instance.delta.put(change.getLong("P"), NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), change.getCompound("S")));
+        }
+        ListTag groupsTag = tag.getList("Entities", Tag.TAG_COMPOUND);
+        for (int i = 0; i < groupsTag.size(); i++) {
+            EntityGroup group = EntityGroup.load(groupsTag.getCompound(i));
+            instance.entityGroups.put(group.getSection(), group);
+        }
+        instance.frozenTicks = FrozenTicks.load(tag.getList("FrozenTicks", Tag.TAG_COMPOUND));
+        return instance;
+    }
+}
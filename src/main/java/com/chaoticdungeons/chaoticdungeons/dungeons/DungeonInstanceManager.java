@@ -0,0 +1,188 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/DungeonInstanceManager.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-level pool of placed dungeon instances.
+ * An activation first tries to {@link #acquire} a free instance of its structure; only when none is free
+ * is a new dungeon placed and {@link #register registered}. When the gate expires the instance is
+ * {@link #release released}: its recorded changes are undone and it goes back to the pool.
+ */
+public class DungeonInstanceManager extends SavedData {
+
+    private static final String DATA_NAME = ChaoticDungeons.MOD_ID + "_instances";
+
+    private final Int2ObjectMap<DungeonInstance> instances = new Int2ObjectOpenHashMap<>();
+    // Instances overlapping each chunk, keyed by ChunkPos.asLong(). Rebuilt on load.
+    private final Long2ObjectMap<List<DungeonInstance>> instancesByChunk = new Long2ObjectOpenHashMap<>();
+    private int nextId = 1;
+
+    /**
+     * Returns the instance pool of the given level, loading or creating it on first use.
+     *
+     * @param level The ServerLevel.
+     * @return The level's DungeonInstanceManager.
+     */
+    public static DungeonInstanceManager get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(DungeonInstanceManager::load, DungeonInstanceManager::new, DATA_NAME);
+    }
+
+    /**
+     * Takes a free instance of the given structure out of the pool.
+     * Changes made while the instance was free are undone first.
+     *
+     * @param level The ServerLevel the pool belongs to.
+     * @param structure The structure id.
+     * @return The acquired instance, or empty if none is free.
+     */
+    public Optional<DungeonInstance> acquire(ServerLevel level, String structure) {
+        for (DungeonInstance instance : instances.values()) {
+            if (!instance.isInUse() && instance.getStructure().equals(structure)) {
+                if (instance.getDeltaSize() > 0) {
+                    instance.restore(level);
+                }
+                instance.setInUse(true);
+                setDirty();
+                ChaoticDungeons.LOGGER.debug("DungeonInstanceManager: Reusing instance {} of {} at {}.", instance.getId(), structure, instance.getOrigin());
+                return Optional.of(instance);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds a freshly placed dungeon to the pool, in use. Its template entities and scheduled ticks start out dormant.
+     *
+     * @param level The ServerLevel the dungeon was placed in.
+     * @param structure The structure id.
+     * @param origin The placement origin.
+     * @param rotation The placement rotation.
+     * @param processed The processed blocks the dungeon was placed from, or null if it was placed from the template itself.
+     * @param bounds The placed structure's bounds.
+     * @return The new instance.
+     */
+    public DungeonInstance register(ServerLevel level, String structure, BlockPos origin, Rotation rotation, @Nullable ProcessedTemplate processed,
+                                    BoundingBox bounds) {
+        DungeonInstance instance = new DungeonInstance(nextId++, structure, origin, rotation, bounds, true,
+                processed == null ? null : processed.getProcessors(), processed == null ? 0 : processed.getVariant());
+        instance.resetEntities(level);
+        instance.freezeTicks(level);
+        add(instance);
+        setDirty();
+        ChaoticDungeons.LOGGER.debug("DungeonInstanceManager: Registered instance {} of {} at {}. Pool size: {}", instance.getId(), structure, origin, instances.size());
+        return instance;
+    }
+
+    /**
+     * Resets an instance and returns it to the pool.
+     *
+     * @param level The ServerLevel the pool belongs to.
+     * @param id The instance id.
+     */
+    public void release(ServerLevel level, int id) {
+        DungeonInstance instance = instances.get(id);
+        if (instance == null || !instance.isInUse()) {
+            return;
+        }
+        instance.restore(level);
+        instance.setInUse(false);
+        setDirty();
+    }
+
+    /**
+     * Records a block change if it lies inside a pooled instance.
+     *
+     * @param level The ServerLevel the change happened in.
+     * @param pos The changed position.
+     * @param previousState The state before the change, or null if unknown.
+     */
+    public void recordChange(ServerLevel level, BlockPos pos, @Nullable BlockState previousState) {
+        List<DungeonInstance> candidates = instancesByChunk.get(ChunkPos.asLong(pos));
+        if (candidates == null) {
+            return;
+        }
+        for (DungeonInstance instance : candidates) {
+            if (instance.getBounds().isInside(pos) && instance.recordChange(level, pos, previousState)) {
+                setDirty();
+            }
+        }
+    }
+
+    /**
+     * Wakes and puts to sleep the template entities of every instance in use, depending on player distance,
+     * and thaws the scheduled ticks of instances a player has entered.
+     *
+     * @param level The ServerLevel the pool belongs to.
+     * @param radius The wake-up radius.
+     * @param sleepRadius The radius beyond which awake rooms go back to sleep.
+     */
+    public void updateEntities(ServerLevel level, double radius, double sleepRadius) {
+        if (instances.isEmpty()) {
+            return;
+        }
+        List<Vec3> players = level.players().stream().filter(player -> !player.isSpectator()).map(player -> player.position()).toList();
+        for (DungeonInstance instance : instances.values()) {
+            if (instance.isInUse() && (instance.updateEntities(level, players, radius, sleepRadius) | instance.thawTicks(level, players))) {
+                setDirty();
+            }
+        }
+    }
+
+    @Nullable
+    public DungeonInstance getInstance(int id) {
+        return instances.get(id);
+    }
+
+    private void add(DungeonInstance instance) {
+        instances.put(instance.getId(), instance);
+        BoundingBox bounds = instance.getBounds();
+        for (int chunkX = SectionPos.blockToSectionCoord(bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(bounds.maxZ()); chunkZ++) {
+                instancesByChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new ArrayList<>()).add(instance);
+            }
+        }
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        ListTag list = new ListTag();
+        for (DungeonInstance instance : instances.values()) {
+            list.add(instance.save());
+        }
+        tag.put("Instances", list);
+        tag.putInt("NextId", nextId);
+        return tag;
+    }
+
+    private static DungeonInstanceManager load(CompoundTag tag) {
+        DungeonInstanceManager manager = new DungeonInstanceManager();
+        ListTag list = tag.getList("Instances", Tag.TAG_COMPOUND);
+        for (int i = 0; i < list.size(); i++) {
+            manager.add(DungeonInstance.load(list.getCompound(i)));
+        }
+        manager.nextId = Math.max(1, tag.getInt("NextId"));
+        return manager;
+    }
+}
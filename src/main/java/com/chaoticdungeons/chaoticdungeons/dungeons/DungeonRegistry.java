@@ -4,16 +4,17 @@ package com.chaoticdungeons.chaoticdungeons.dungeons;
 import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
 import net.minecraft.util.profiling.ProfilerFiller;
-import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.AddReloadListenerEvent;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
@@ -28,21 +30,30 @@ import java.util.stream.Collectors;
  * Singleton registry for managing and loading dungeon data from JSON files.
  * This class handles reading JSON files from the mod's data directory, parsing them into DungeonData objects,
  * and performing validation on the parsed data. It integrates with Minecraft's resource reload system.
+ * The dungeons bundled with the mod are validated at build time and shipped as one prebuilt index
+ * ({@value #INDEX_RESOURCE}, written by the {@code indexDungeons} Gradle task); only files a datapack
+ * adds or overrides are parsed and validated one by one.
  */
 public class DungeonRegistry extends SimplePreparableReloadListener<List<DungeonData>> {
     private static final String DUNGEON_DATA_PATH = "dungeons";
+    private static final String INDEX_RESOURCE = "/chaotic_dungeons/dungeon_index.json";
+    private static final int INDEX_VERSION = 1;
+    // Forge serves mod resources through the combined "mod_resources" pack, or per mod as "mod:<id>"
+    private static final Set<String> BUNDLED_PACK_IDS = Set.of("mod_resources", "mod:" + ChaoticDungeons.MOD_ID);
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
     private static DungeonRegistry INSTANCE;
+    // The prebuilt index of bundled dungeons, keyed by resource location. Read once; the jar does not change.
+    private static Map<ResourceLocation, DungeonData> bundledIndex;
 
     // Stores dungeon data, organized by dungeon type for efficient lookup.
-    private final Map<String, List<DungeonData>> registeredDungeons = new HashMap<>();
+    // Replaced as a whole on reload, so activation workers can read it without locking.
+    private volatile Map<String, List<DungeonData>> registeredDungeons = Map.of();
 
     /**
      * Private constructor to enforce the singleton pattern.
-     * Registers this instance as a reload listener for resource packs.
+     * The reload listener hook, {@link #onAddReloadListeners}, is registered once by the mod constructor.
      */
     private DungeonRegistry() {
-        MinecraftForge.EVENT_BUS.register(this);
     }
 
     /**
@@ -63,7 +74,6 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
      *
      * @param event The AddReloadListenerEvent.
      */
-    @SubscribeEvent
     public static void onAddReloadListeners(AddReloadListenerEvent event) {
         event.addListener(getInstance());
         ChaoticDungeons.LOGGER.debug("DungeonRegistry registered as a reload listener.");
@@ -71,6 +81,8 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
 
     /**
      * Prepares data by reading all dungeon JSON files. This method is called asynchronously.
+     * The bundled dungeons are taken from the prebuilt index as they are; only files served by other packs
+     * (datapacks adding or overriding dungeons) are opened and parsed.
      *
      * @param resourceManager The resource manager to access mod resources.
      * @param profiler The profiler for performance monitoring.
@@ -79,16 +91,23 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
     @Override
     protected List<DungeonData> prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
         profiler.startTick();
-        List<DungeonData> loadedDungeons = new ArrayList<>();
         ChaoticDungeons.LOGGER.info("DungeonRegistry: Loading dungeon data from resources...");
+        Map<ResourceLocation, DungeonData> index = getBundledIndex();
+        Map<ResourceLocation, DungeonData> loadedDungeons = new HashMap<>(index); // Validated at build time
+        int[] parsed = {0};
 
-        // Get all resources in the 'data/chaotic_dungeons/dungeons' directory with a '.json' extension
-        resourceManager.listResources(String.valueOf(new ResourceLocation(ChaoticDungeons.MOD_ID, DUNGEON_DATA_PATH)), (path) -> path.getPath().endsWith(".json"))
+        // Get all resources in the 'data/<namespace>/dungeons' directories with a '.json' extension
+        resourceManager.listResources(DUNGEON_DATA_PATH, (path) -> path.getPath().endsWith(".json"))
                 .forEach((resourceLocation, resource) -> {
+                    if (BUNDLED_PACK_IDS.contains(resource.sourcePackId()) && index.containsKey(resourceLocation)) {
+                        return; // Already taken from the index
+                    }
+                    parsed[0]++;
+                    loadedDungeons.remove(resourceLocation); // A datapack file replaces the bundled one, even if it is invalid
                     try (Reader reader = resource.openAsReader()) {
                         DungeonData data = GSON.fromJson(reader, DungeonData.class);
                         if (data != null && validateDungeonData(data, resourceLocation.getPath())) {
-                            loadedDungeons.add(data);
+                            loadedDungeons.put(resourceLocation, data);
                             ChaoticDungeons.LOGGER.debug("Successfully loaded dungeon data: {}", resourceLocation.getPath());
                         } else {
                             ChaoticDungeons.LOGGER.warn("Skipping invalid dungeon data from file: {}", resourceLocation.getPath());
@@ -99,8 +118,39 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
                         ChaoticDungeons.LOGGER.error("Failed to read dungeon data from file {}: {}", resourceLocation.getPath(), e.getMessage());
                     }
                 });
+        ChaoticDungeons.LOGGER.debug("DungeonRegistry: {} dungeon file(s) taken from the prebuilt index, {} parsed.", index.size(), parsed[0]);
         profiler.endTick();
-        return loadedDungeons;
+        return new ArrayList<>(loadedDungeons.values());
+    }
+
+    /**
+     * Reads the prebuilt index of bundled dungeons on first use.
+     *
+     * @return The indexed dungeons by resource location; empty if the index is missing or unreadable,
+     *         in which case every file is parsed.
+     */
+    private static synchronized Map<ResourceLocation, DungeonData> getBundledIndex() {
+        if (bundledIndex == null) {
+            Map<ResourceLocation, DungeonData> index = new HashMap<>();
+            try (InputStream stream = DungeonRegistry.class.getResourceAsStream(INDEX_RESOURCE)) {
+                if (stream == null) {
+                    ChaoticDungeons.LOGGER.warn("DungeonRegistry: No prebuilt dungeon index found; parsing every dungeon file.");
+                } else {
+                    JsonObject root = GSON.fromJson(new InputStreamReader(stream, StandardCharsets.UTF_8), JsonObject.class);
+                    if (root.get("version").getAsInt() == INDEX_VERSION) {
+                        root.getAsJsonObject("dungeons").entrySet().forEach(entry -> index.put(
+                                new ResourceLocation(ChaoticDungeons.MOD_ID, entry.getKey()), GSON.fromJson(entry.getValue(), DungeonData.class)));
+                    } else {
+                        ChaoticDungeons.LOGGER.warn("DungeonRegistry: Ignoring dungeon index of unknown version {}.", root.get("version"));
+                    }
+                }
+            } catch (Exception e) {
+                ChaoticDungeons.LOGGER.error("DungeonRegistry: Failed to read the prebuilt dungeon index: {}", e.getMessage());
+                index.clear();
+            }
+            bundledIndex = Map.copyOf(index);
+        }
+        return bundledIndex;
     }
 
     /**
@@ -113,12 +163,13 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
     @Override
     protected void apply(List<DungeonData> p_215312_1_, ResourceManager resourceManager, ProfilerFiller profiler) {
         profiler.startTick();
-        registeredDungeons.clear(); // Clear existing data to prepare for new load
+        Map<String, List<DungeonData>> loaded = new HashMap<>(); // Built aside, then published in one write
 
         p_215312_1_.forEach(data -> {
             // Group dungeons by type for quick lookup
-            registeredDungeons.computeIfAbsent(data.type(), k -> new ArrayList<>()).add(data);
+            loaded.computeIfAbsent(data.type(), k -> new ArrayList<>()).add(data);
         });
+        registeredDungeons = loaded;
 
         ChaoticDungeons.LOGGER.info("DungeonRegistry: Loaded {} total valid dungeon entries.",
                 registeredDungeons.values().stream().mapToInt(List::size).sum());
@@ -146,6 +197,35 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
             return false;
         }
 
+        if (data.biomes() != null && !data.biomes().isEmpty() && data.biomeTag() == null) {
+            ChaoticDungeons.LOGGER.error("Dungeon data from '{}' has an invalid 'biomes' tag: {}", fileName, data.biomes());
+            return false;
+        }
+
+        if (data.layoutKind() == null) {
+            ChaoticDungeons.LOGGER.error("Dungeon data from '{}' has invalid 'layout' (must be template, jigsaw, pool or natural): {}", fileName, data.layout());
+            return false;
+        }
+        if (data.layoutKind() == DungeonData.Layout.POOL && data.size() < 1) {
+            ChaoticDungeons.LOGGER.error("Dungeon data from '{}' uses a pool layout but has no positive 'size'.", fileName);
+            return false;
+        }
+        if (data.lazy() && !data.isJigsaw()) {
+            ChaoticDungeons.LOGGER.warn("Dungeon data from '{}' sets 'lazy' without a jigsaw or pool layout; it will be placed at once.", fileName);
+        }
+        if (data.processors() != null && !data.processors().isEmpty()) {
+            if (data.processorList() == null) {
+                ChaoticDungeons.LOGGER.error("Dungeon data from '{}' has an invalid 'processors' id: {}", fileName, data.processors());
+                return false;
+            }
+            if (data.layoutKind() != DungeonData.Layout.TEMPLATE) {
+                ChaoticDungeons.LOGGER.warn("Dungeon data from '{}' sets 'processors' without a template layout; it is ignored.", fileName);
+            }
+        }
+        if (data.isNatural() && data.biomeTag() != null) {
+            ChaoticDungeons.LOGGER.warn("Dungeon data from '{}' sets 'biomes' on a natural layout; the structure's own biomes apply.", fileName);
+        }
+
         // Validate type enum
         List<String> validTypes = List.of("basic", "cave", "sewerage", "dark");
         if (!validTypes.contains(data.type().toLowerCase())) {
@@ -163,4 +243,4 @@ public class DungeonRegistry extends SimplePreparableReloadListener<List<Dungeon
     public Map<String, List<DungeonData>> getAllDungeonsByType() {
         return Collections.unmodifiableMap(registeredDungeons);
     }
-}
\ No newline at end of file
+}
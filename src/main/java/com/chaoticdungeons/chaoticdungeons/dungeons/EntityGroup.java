@@ -0,0 +1,139 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/EntityGroup.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The template entities of one room of a placed dungeon. A room is the 16-block cube (chunk section)
+ * the entities stand in when the dungeon is placed. While no player is near, the group exists only as
+ * dormant spawn records (entity NBT in world coordinates); it is spawned when a player approaches and
+ * saved back to records, including damage and position, when every player has left.
+ */
+public class EntityGroup {
+
+    private final long section; // SectionPos.asLong() of the room
+    private final List<CompoundTag> records = new ArrayList<>();
+    private final List<UUID> live = new ArrayList<>();
+
+    EntityGroup(long section) {
+        this.section = section;
+    }
+
+    void addRecord(CompoundTag record) {
+        record.remove("UUID"); // Every spawn gets a fresh UUID
+        records.add(record);
+    }
+
+    /**
+     * Returns the centre of the room.
+     *
+     * @return The room centre in world coordinates.
+     */
+    public BlockPos getCenter() {
+        return SectionPos.of(section).center();
+    }
+
+    public boolean isAwake() {
+        return !live.isEmpty();
+    }
+
+    /**
+     * Creates the group's entities from their records.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @return The number of entities spawned.
+     */
+    int wake(ServerLevel level) {
+        for (CompoundTag record : records) {
+            Entity entity = EntityType.loadEntityRecursive(record.copy(), level, loaded -> loaded);
+            if (entity != null && level.tryAddFreshEntityWithPassengers(entity)) {
+                live.add(entity.getUUID());
+            }
+        }
+        records.clear();
+        return live.size();
+    }
+
+    /**
+     * Saves the group's surviving entities back to records and removes them from the level.
+     * Entities that died or can no longer be found stay gone until the dungeon is reset.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @return The number of entities put back to sleep.
+     */
+    int sleep(ServerLevel level) {
+        for (UUID uuid : live) {
+            Entity entity = level.getEntity(uuid);
+            if (entity == null || !entity.isAlive()) {
+                continue;
+            }
+            CompoundTag record = new CompoundTag();
+            if (entity.save(record)) {
+                addRecord(record);
+            }
+            entity.getPassengers().forEach(Entity::discard);
+            entity.discard();
+        }
+        live.clear();
+        return records.size();
+    }
+
+    /**
+     * Removes the group's live entities without keeping them. Used when the dungeon is reset.
+     *
+     * @param level The ServerLevel of the dungeon.
+     */
+    void discard(ServerLevel level) {
+        for (UUID uuid : live) {
+            Entity entity = level.getEntity(uuid);
+            if (entity != null) {
+                entity.getPassengers().forEach(Entity::discard);
+                entity.discard();
+            }
+        }
+        live.clear();
+        records.clear();
+    }
+
+    long getSection() {
+        return section;
+    }
+
+    CompoundTag save() {
+        CompoundTag tag = new CompoundTag();
+        tag.putLong("Section", section);
+        ListTag recordsTag = new ListTag();
+        recordsTag.addAll(records);
+        tag.put("Records", recordsTag);
+        ListTag liveTag = new ListTag();
+        for (UUID uuid : live) {
+            liveTag.add(NbtUtils.createUUID(uuid));
+        }
+        tag.put("Live", liveTag);
+        return tag;
+    }
+
+    static EntityGroup load(CompoundTag tag) {
+        EntityGroup group = new EntityGroup(tag.getLong("Section"));
+        ListTag recordsTag = tag.getList("Records", Tag.TAG_COMPOUND);
+        for (int i = 0; i < recordsTag.size(); i++) {
+            group.records.add(recordsTag.getCompound(i));
+        }
+        for (Tag uuidTag : tag.getList("Live", Tag.TAG_INT_ARRAY)) {
+            group.live.add(NbtUtils.loadUUID(uuidTag));
+        }
+        return group;
+    }
+}
@@ -0,0 +1,135 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/FrozenTicks.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Registry;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.ticks.LevelChunkTicks;
+import net.minecraft.world.ticks.ScheduledTick;
+import net.minecraft.world.ticks.TickContainerAccess;
+import net.minecraft.world.ticks.TickPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The scheduled block and fluid ticks of a dungeon nobody has entered yet. Placing a template makes
+ * its fluids, falling blocks and redstone schedule ticks right away; they are taken out of the level
+ * here and put back, with their remaining delays, once a player enters the dungeon.
+ * Ticks are held by the {@link DungeonInstance} of a pooled template dungeon. Template dungeons whose
+ * processors read the world are not pooled, and jigsaw and natural dungeons have no instance, so their
+ * ticks run from placement on.
+ */
+public class FrozenTicks {
+
+    private record Frozen<T>(T type, BlockPos pos, int delay, TickPriority priority) {
+    }
+
+    private final List<Frozen<Block>> blockTicks = new ArrayList<>();
+    private final List<Frozen<Fluid>> fluidTicks = new ArrayList<>();
+
+    public boolean isEmpty() {
+        return blockTicks.isEmpty() && fluidTicks.isEmpty();
+    }
+
+    /**
+     * Takes every tick scheduled inside the bounds out of the level. Only loaded chunks are read;
+     * dungeons are frozen right after placement, while their chunks are held loaded.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param bounds The dungeon's bounds.
+     * @return The number of ticks frozen by this call.
+     */
+    int freeze(ServerLevel level, BoundingBox bounds) {
+        int before = blockTicks.size() + fluidTicks.size();
+        long gameTime = level.getGameTime();
+        for (int chunkX = SectionPos.blockToSectionCoord(bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(bounds.maxZ()); chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk != null) {
+                    collect(chunk.getBlockTicks(), bounds, gameTime, blockTicks);
+                    collect(chunk.getFluidTicks(), bounds, gameTime, fluidTicks);
+                }
+            }
+        }
+        level.getBlockTicks().clearArea(bounds);
+        level.getFluidTicks().clearArea(bounds);
+        return blockTicks.size() + fluidTicks.size() - before;
+    }
+
+    private static <T> void collect(TickContainerAccess<T> container, BoundingBox bounds, long gameTime, List<Frozen<T>> frozen) {
+        if (container instanceof LevelChunkTicks<T> ticks) {
+            try (Stream<ScheduledTick<T>> all = ticks.getAll()) {
+                all.filter(tick -> bounds.isInside(tick.pos()))
+                        .forEach(tick -> frozen.add(new Frozen<>(tick.type(), tick.pos(), (int) Math.max(0L, tick.triggerTick() - gameTime), tick.priority())));
+            }
+        }
+    }
+
+    /**
+     * Schedules the frozen ticks again. Ticks for blocks that changed in the meantime are dropped by the level when they run.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @return The number of ticks scheduled.
+     */
+    int thaw(ServerLevel level) {
+        int count = blockTicks.size() + fluidTicks.size();
+        for (Frozen<Block> tick : blockTicks) {
+            level.scheduleTick(tick.pos(), tick.type(), tick.delay(), tick.priority());
+        }
+        for (Frozen<Fluid> tick : fluidTicks) {
+            level.scheduleTick(tick.pos(), tick.type(), tick.delay(), tick.priority());
+        }
+        blockTicks.clear();
+        fluidTicks.clear();
+        return count;
+    }
+
+    ListTag save() {
+        ListTag list = new ListTag();
+        saveTicks(list, blockTicks, BuiltInRegistries.BLOCK, false);
+        saveTicks(list, fluidTicks, BuiltInRegistries.FLUID, true);
+        return list;
+    }
+
+    private static <T> void saveTicks(ListTag list, List<Frozen<T>> ticks, Registry<T> registry, boolean fluid) {
+        for (Frozen<T> tick : ticks) {
+            CompoundTag tag = new CompoundTag();
+            tag.putString("T", registry.getKey(tick.type()).toString());
+            tag.putBoolean("F", fluid);
+            tag.putLong("P", tick.pos().asLong());
+            tag.putInt("D", tick.delay());
+            tag.putInt("Pr", tick.priority().getValue());
+            list.add(tag);
+        }
+    }
+
+    static FrozenTicks load(ListTag list) {
+        FrozenTicks frozen = new FrozenTicks();
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag tag = list.getCompound(i);
+            ResourceLocation type = ResourceLocation.tryParse(tag.getString("T"));
+            if (type == null) {
+                continue;
+            }
+            BlockPos pos = BlockPos.of(tag.getLong("P"));
+            TickPriority priority = TickPriority.byValue(tag.getInt("Pr"));
+            if (tag.getBoolean("F")) {
+                BuiltInRegistries.FLUID.getOptional(type).ifPresent(fluid -> frozen.fluidTicks.add(new Frozen<>(fluid, pos, tag.getInt("D"), priority)));
+            } else {
+                BuiltInRegistries.BLOCK.getOptional(type).ifPresent(block -> frozen.blockTicks.add(new Frozen<>(block, pos, tag.getInt("D"), priority)));
+            }
+        }
+        return frozen;
+    }
+}
@@ -0,0 +1,121 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/JigsawPlanner.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.RandomState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.StructurePiece;
+import net.minecraft.world.level.levelgen.structure.StructureStart;
+import net.minecraft.world.level.levelgen.structure.pieces.PiecesContainer;
+import net.minecraft.world.level.levelgen.structure.pools.JigsawPlacement;
+import net.minecraft.world.level.levelgen.structure.pools.StructureTemplatePool;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplateManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Assembles jigsaw dungeons: pool selection, jigsaw matching and collision checks.
+ * Planning uses only world generation state captured on the server thread, so it runs on worker
+ * threads the same way vanilla structure starts do. The resulting {@link Layout} is placed piece by piece later.
+ */
+public class JigsawPlanner {
+
+    private static final int MAX_DISTANCE_FROM_CENTER = 80; // Same limit the shipped jigsaw structures use
+
+    /**
+     * The world generation state planning needs. Captured on the server thread.
+     *
+     * @param registryAccess The server's registries.
+     * @param generator The level's chunk generator.
+     * @param randomState The level's noise and random state.
+     * @param templateManager The server's structure template manager.
+     * @param heights The level's build height range.
+     */
+    public record Context(RegistryAccess registryAccess, ChunkGenerator generator, RandomState randomState,
+                          StructureTemplateManager templateManager, LevelHeightAccessor heights) {
+
+        public static Context capture(ServerLevel level) {
+            return new Context(level.registryAccess(), level.getChunkSource().getGenerator(), level.getChunkSource().randomState(),
+                    level.getStructureManager(), LevelHeightAccessor.create(level.getMinBuildHeight(), level.getHeight()));
+        }
+    }
+
+    /**
+     * A planned jigsaw dungeon.
+     *
+     * @param site The site the layout was planned for.
+     * @param entrance Where players arrive: on the floor of the start piece, at its centre.
+     * @param pieces The pieces to place, start piece first.
+     * @param bounds The bounds of all pieces.
+     */
+    public record Layout(BlockPos site, BlockPos entrance, List<StructurePiece> pieces, BoundingBox bounds) {
+    }
+
+    /**
+     * Plans the layout of a jigsaw dungeon at the given site. Safe to call from any thread.
+     *
+     * @param context The captured world generation state.
+     * @param dungeon The dungeon; its layout must be "jigsaw" or "pool".
+     * @param site The claimed or proposed dungeon site.
+     * @param seed The seed for piece selection; different seeds give different layouts.
+     * @return The layout, or empty if the structure or pool is unknown or produced no pieces.
+     */
+    public static Optional<Layout> plan(Context context, DungeonData dungeon, BlockPos site, long seed) {
+        ResourceLocation id = ResourceLocation.tryParse(dungeon.structure());
+        if (id == null) {
+            return Optional.empty();
+        }
+        ChunkPos chunkPos = new ChunkPos(site);
+        PiecesContainer pieces;
+
+        if (dungeon.layoutKind() == DungeonData.Layout.JIGSAW) {
+            Structure structure = context.registryAccess().registryOrThrow(Registries.STRUCTURE).get(id);
+            if (structure == null) {
+                ChaoticDungeons.LOGGER.error("JigsawPlanner: Unknown jigsaw structure {}.", id);
+                return Optional.empty();
+            }
+            // The site was chosen by the position search, so every biome is accepted here.
+            StructureStart start = structure.generate(context.registryAccess(), context.generator(), context.generator().getBiomeSource(),
+                    context.randomState(), context.templateManager(), seed, chunkPos, 0, context.heights(), biome -> true);
+            if (!start.isValid()) {
+                return Optional.empty();
+            }
+            pieces = new PiecesContainer(start.getPieces());
+        } else {
+            Optional<Holder.Reference<StructureTemplatePool>> pool = context.registryAccess().registryOrThrow(Registries.TEMPLATE_POOL)
+                    .getHolder(ResourceKey.create(Registries.TEMPLATE_POOL, id));
+            if (pool.isEmpty()) {
+                ChaoticDungeons.LOGGER.error("JigsawPlanner: Unknown template pool {}.", id);
+                return Optional.empty();
+            }
+            Structure.GenerationContext generationContext = new Structure.GenerationContext(context.registryAccess(), context.generator(),
+                    context.generator().getBiomeSource(), context.randomState(), context.templateManager(), seed, chunkPos, context.heights(), biome -> true);
+            Optional<Structure.GenerationStub> stub = JigsawPlacement.addPieces(generationContext, pool.get(), Optional.empty(), dungeon.size(), site,
+                    false, Optional.empty(), MAX_DISTANCE_FROM_CENTER);
+            if (stub.isEmpty()) {
+                return Optional.empty();
+            }
+            pieces = stub.get().getPiecesBuilder().build();
+        }
+
+        if (pieces.isEmpty()) {
+            return Optional.empty();
+        }
+        BoundingBox startBox = pieces.pieces().get(0).getBoundingBox();
+        BlockPos entrance = new BlockPos(startBox.getCenter().getX(), startBox.minY() + 1, startBox.getCenter().getZ());
+        ChaoticDungeons.LOGGER.debug("JigsawPlanner: Planned {} with {} pieces at {}.", id, pieces.pieces().size(), site);
+        return Optional.of(new Layout(site, entrance, List.copyOf(pieces.pieces()), pieces.calculateBoundingBox()));
+    }
+}
@@ -0,0 +1,244 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/ProcessedTemplate.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.levelgen.structure.templatesystem.BlackstoneReplaceProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.BlockAgeProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.BlockRotProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.NopProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.ProcessorRule;
+import net.minecraft.world.level.levelgen.structure.templatesystem.RuleProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureProcessor;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureProcessorList;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A template's blocks after rotation and the dungeon's structure processors, as offsets from the placement origin.
+ * The result only depends on the template, the rotation, the processor list and a variant number, so it is
+ * computed on a worker thread and cached; the server thread then only writes the finished list
+ * (see {@link com.chaoticdungeons.chaoticdungeons.handlers.StructureSummoner}).
+ * <p>
+ * Each variant seeds the processors' randomness, so up to {@value #VARIANTS} differently processed copies of a
+ * template exist per rotation. Only processors that never read the world at the target position can be evaluated
+ * ahead of placement: block rot, block age, blackstone replacement and rule processors whose location predicates
+ * always pass. Lists with any other processor are left to the template's own placement on the server thread.
+ * Templates without processors are only rotated, so that their placement can skip unchanged blocks as well.
+ */
+public class ProcessedTemplate {
+
+    public static final int VARIANTS = 8; // Processed copies per template, rotation and processor list
+    private static final int MAX_CACHED = 64;
+    private static final Set<Class<?>> WORLD_INDEPENDENT = Set.of(BlockRotProcessor.class, BlockAgeProcessor.class,
+            BlackstoneReplaceProcessor.class, NopProcessor.class);
+
+    private record Key(StructureTemplate template, Rotation rotation, @Nullable ResourceLocation processors, int variant) {
+    }
+
+    private static final Map<Key, ProcessedTemplate> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ProcessedTemplate> eldest) {
+            return size() > MAX_CACHED;
+        }
+    });
+
+    @Nullable
+    private final ResourceLocation processors;
+    private final int variant;
+    private final List<StructureTemplate.StructureBlockInfo> blocks;
+
+    private ProcessedTemplate(@Nullable ResourceLocation processors, int variant, List<StructureTemplate.StructureBlockInfo> blocks) {
+        this.processors = processors;
+        this.variant = variant;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Picks the variant an activation uses.
+     *
+     * @param seed The activation's seed.
+     * @return A variant in [0, {@value #VARIANTS}).
+     */
+    public static int variantOf(long seed) {
+        return (int) Math.floorMod(seed, (long) VARIANTS);
+    }
+
+    /**
+     * Returns the processed blocks of a template, processing it on first use. Does not touch the level,
+     * so it may be called from a worker thread.
+     *
+     * @param registries The server's registries, to resolve the processor list.
+     * @param template The structure template.
+     * @param rotation The rotation the template is placed with.
+     * @param processors The processor list id.
+     * @param variant The variant, see {@link #variantOf(long)}.
+     * @return The processed template, or empty if the list is unknown or has a processor that reads the world.
+     */
+    public static Optional<ProcessedTemplate> get(RegistryAccess registries, StructureTemplate template, Rotation rotation,
+                                                  ResourceLocation processors, int variant) {
+        Key key = new Key(template, rotation, processors, variant);
+        ProcessedTemplate cached = CACHE.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<StructureProcessorList> list = registries.registryOrThrow(Registries.PROCESSOR_LIST).getOptional(processors);
+        if (list.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("ProcessedTemplate: Unknown processor list {}.", processors);
+            return Optional.empty();
+        }
+        long seed = Mth.getSeed(variant, processors.hashCode(), rotation.ordinal());
+        List<Step> steps = new ArrayList<>();
+        for (StructureProcessor processor : list.get().list()) {
+            Step step = toStep(processor, seed);
+            if (step == null) {
+                ChaoticDungeons.LOGGER.debug("ProcessedTemplate: {} has a {}, which may read the world; it is applied on placement.",
+                        processors, processor.getClass().getSimpleName());
+                return Optional.empty();
+            }
+            steps.add(step);
+        }
+        ProcessedTemplate processed = process(TemplateSnapshot.of(template), rotation, processors, steps, seed, variant);
+        CACHE.put(key, processed);
+        return Optional.of(processed);
+    }
+
+    /**
+     * Returns the blocks of a template without processors, rotated. Does not touch the level.
+     *
+     * @param template The structure template.
+     * @param rotation The rotation the template is placed with.
+     * @return The rotated template.
+     */
+    public static ProcessedTemplate rotated(StructureTemplate template, Rotation rotation) {
+        Key key = new Key(template, rotation, null, 0);
+        ProcessedTemplate cached = CACHE.get(key);
+        if (cached == null) {
+            cached = process(TemplateSnapshot.of(template), rotation, null, List.of(), 0L, 0);
+            CACHE.put(key, cached);
+        }
+        return cached;
+    }
+
+    private static ProcessedTemplate process(TemplateSnapshot snapshot, Rotation rotation, @Nullable ResourceLocation id,
+                                             List<Step> steps, long seed, int variant) {
+        StructurePlaceSettings settings = new StructurePlaceSettings().setRotation(rotation).setRandom(RandomSource.create(seed));
+        List<StructureTemplate.StructureBlockInfo> blocks = new ArrayList<>(snapshot.getBlocks().size());
+        for (StructureTemplate.StructureBlockInfo original : snapshot.getBlocks()) {
+            StructureTemplate.StructureBlockInfo info = new StructureTemplate.StructureBlockInfo(
+                    StructureTemplate.calculateRelativePosition(settings, original.pos()), original.state(), original.nbt());
+            for (Step step : steps) {
+                info = step.apply(original, info, settings);
+                if (info == null) {
+                    break;
+                }
+            }
+            if (info != null) {
+                // The template's own placement rotates states after processing, as done here
+                blocks.add(new StructureTemplate.StructureBlockInfo(info.pos(), info.state().rotate(rotation), info.nbt()));
+            }
+        }
+        return new ProcessedTemplate(id, variant, List.copyOf(blocks));
+    }
+
+    /**
+     * One processor of the list, applied to one block. Returns null to drop the block.
+     */
+    private interface Step {
+        @Nullable
+        StructureTemplate.StructureBlockInfo apply(StructureTemplate.StructureBlockInfo original, StructureTemplate.StructureBlockInfo info,
+                                                   StructurePlaceSettings settings);
+    }
+
+    @Nullable
+    private static Step toStep(StructureProcessor processor, long seed) {
+        if (WORLD_INDEPENDENT.contains(processor.getClass())) {
+            // These processors only use the block and the settings' randomness, never the level they are given.
+            return (original, info, settings) -> processor.processBlock(null, BlockPos.ZERO, BlockPos.ZERO, original, info, settings);
+        }
+        if (processor.getClass() == RuleProcessor.class) {
+            RuleProcessor rules = (RuleProcessor) processor;
+            List<ProcessorRule> decoded = decodeRules(rules);
+            return decoded == null ? null : (original, info, settings) -> applyRules(decoded, original, info, seed);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a rule processor's rules through its codec, or returns null if any rule tests the block already in the world.
+     */
+    @Nullable
+    private static List<ProcessorRule> decodeRules(RuleProcessor processor) {
+        Optional<JsonElement> json = RuleProcessor.CODEC.encodeStart(JsonOps.INSTANCE, processor).result();
+        if (json.isEmpty() || !json.get().isJsonObject()) {
+            return null;
+        }
+        JsonArray rules = json.get().getAsJsonObject().getAsJsonArray("rules");
+        if (rules == null) {
+            return null;
+        }
+        for (JsonElement rule : rules) {
+            JsonElement location = rule.getAsJsonObject().get("location_predicate");
+            if (location == null || !"minecraft:always_true".equals(location.getAsJsonObject().get("predicate_type").getAsString())) {
+                return null;
+            }
+        }
+        return ProcessorRule.CODEC.listOf().parse(JsonOps.INSTANCE, rules).result().orElse(null);
+    }
+
+    /**
+     * Applies rules the way {@link RuleProcessor} does. The location predicate always passes, so the state
+     * in the world is never needed; the per-block randomness is seeded from the template position and the variant.
+     */
+    private static StructureTemplate.StructureBlockInfo applyRules(List<ProcessorRule> rules, StructureTemplate.StructureBlockInfo original,
+                                                                   StructureTemplate.StructureBlockInfo info, long seed) {
+        RandomSource random = RandomSource.create(Mth.getSeed(info.pos()) ^ seed);
+        for (ProcessorRule rule : rules) {
+            if (rule.test(info.state(), info.state(), original.pos(), info.pos(), BlockPos.ZERO, random)) {
+                return new StructureTemplate.StructureBlockInfo(info.pos(), rule.getOutputState(), rule.getOutputTag(random, info.nbt()));
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Returns the processor list applied, or null if the template was only rotated.
+     *
+     * @return The processor list id, or null.
+     */
+    @Nullable
+    public ResourceLocation getProcessors() {
+        return processors;
+    }
+
+    public int getVariant() {
+        return variant;
+    }
+
+    /**
+     * Returns the processed blocks as offsets from the placement origin, with rotated states.
+     *
+     * @return An unmodifiable list of block infos.
+     */
+    public List<StructureTemplate.StructureBlockInfo> getBlocks() {
+        return blocks;
+    }
+}
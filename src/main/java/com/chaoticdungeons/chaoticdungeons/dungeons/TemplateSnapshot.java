@@ -0,0 +1,151 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/dungeons/TemplateSnapshot.java
+package com.chaoticdungeons.chaoticdungeons.dungeons;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable, world-independent view of a {@link StructureTemplate}'s first palette.
+ * Snapshots are built from the template's own NBT form, so they can be created and queried
+ * on worker threads without touching the level. They are cached per template instance.
+ */
+public class TemplateSnapshot {
+
+    private static final int MAX_ANCHORS = 16; // Enough safe spots for a full party
+    private static final Map<StructureTemplate, TemplateSnapshot> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Vec3i size;
+    private final List<StructureTemplate.StructureBlockInfo> blocks;
+    private final List<CompoundTag> entities;
+    private final List<BlockPos> anchors;
+
+    private TemplateSnapshot(Vec3i size, List<StructureTemplate.StructureBlockInfo> blocks, List<CompoundTag> entities) {
+        this.size = size;
+        this.blocks = blocks;
+        this.entities = entities;
+        this.anchors = findAnchors(size, blocks);
+    }
+
+    /**
+     * Returns the snapshot for the given template, building it on first use.
+     * Safe to call from any thread.
+     *
+     * @param template The structure template to snapshot.
+     * @return The cached or newly built TemplateSnapshot.
+     */
+    public static TemplateSnapshot of(StructureTemplate template) {
+        TemplateSnapshot cached = CACHE.get(template);
+        if (cached == null) {
+            cached = fromTag(template.save(new CompoundTag()));
+            CACHE.put(template, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Parses the NBT written by {@link StructureTemplate#save(CompoundTag)}.
+     * Only the first palette is used, which matches templates saved by structure blocks.
+     *
+     * @param tag The template NBT.
+     * @return A new TemplateSnapshot.
+     */
+    private static TemplateSnapshot fromTag(CompoundTag tag) {
+        ListTag sizeTag = tag.getList("size", Tag.TAG_INT);
+        Vec3i size = new Vec3i(sizeTag.getInt(0), sizeTag.getInt(1), sizeTag.getInt(2));
+
+        ListTag paletteTag = tag.contains("palettes", Tag.TAG_LIST)
+                ? tag.getList("palettes", Tag.TAG_LIST).getList(0)
+                : tag.getList("palette", Tag.TAG_COMPOUND);
+        List<BlockState> palette = new ArrayList<>(paletteTag.size());
+        for (int i = 0; i < paletteTag.size(); i++) {
+            palette.add(NbtUtils.readBlockState(BuiltInRegistries.BLOCK.asLookup(), paletteTag.getCompound(i)));
+        }
+
+        ListTag blocksTag = tag.getList("blocks", Tag.TAG_COMPOUND);
+        List<StructureTemplate.StructureBlockInfo> blocks = new ArrayList<>(blocksTag.size());
+        for (int i = 0; i < blocksTag.size(); i++) {
+            CompoundTag blockTag = blocksTag.getCompound(i);
+            ListTag posTag = blockTag.getList("pos", Tag.TAG_INT);
+            BlockPos pos = new BlockPos(posTag.getInt(0), posTag.getInt(1), posTag.getInt(2));
+            CompoundTag nbt = blockTag.contains("nbt", Tag.TAG_COMPOUND) ? blockTag.getCompound("nbt") : null;
+            blocks.add(new StructureTemplate.StructureBlockInfo(pos, palette.get(blockTag.getInt("state")), nbt));
+        }
+
+        ListTag entitiesTag = tag.getList("entities", Tag.TAG_COMPOUND);
+        List<CompoundTag> entities = new ArrayList<>(entitiesTag.size());
+        for (int i = 0; i < entitiesTag.size(); i++) {
+            entities.add(entitiesTag.getCompound(i));
+        }
+
+        return new TemplateSnapshot(size, List.copyOf(blocks), List.copyOf(entities));
+    }
+
+    /**
+     * Finds template-local positions where a player can stand: solid ground below and two
+     * non-fluid, passable blocks at feet and head level. Positions the template leaves to the
+     * world (structure void) are never considered safe. Anchors closest to the floor centre come first.
+     */
+    private static List<BlockPos> findAnchors(Vec3i size, List<StructureTemplate.StructureBlockInfo> blocks) {
+        Map<BlockPos, BlockState> states = new HashMap<>(blocks.size() * 2);
+        for (StructureTemplate.StructureBlockInfo info : blocks) {
+            states.put(info.pos(), info.state());
+        }
+
+        List<BlockPos> anchors = new ArrayList<>();
+        for (StructureTemplate.StructureBlockInfo info : blocks) {
+            if (!info.state().isSolid()) {
+                continue;
+            }
+            BlockPos feet = info.pos().above();
+            if (isPassable(states.get(feet)) && isPassable(states.get(feet.above()))) {
+                anchors.add(feet);
+            }
+        }
+
+        int centreX = size.getX() / 2;
+        int centreZ = size.getZ() / 2;
+        anchors.sort(Comparator.<BlockPos>comparingInt(BlockPos::getY)
+                .thenComparingInt(pos -> Math.abs(pos.getX() - centreX) + Math.abs(pos.getZ() - centreZ)));
+        return List.copyOf(anchors.subList(0, Math.min(MAX_ANCHORS, anchors.size())));
+    }
+
+    private static boolean isPassable(BlockState state) {
+        return state != null && (state.isAir() || state.canBeReplaced()) && state.getFluidState().isEmpty();
+    }
+
+    public Vec3i getSize() {
+        return size;
+    }
+
+    public List<StructureTemplate.StructureBlockInfo> getBlocks() {
+        return blocks;
+    }
+
+    public List<CompoundTag> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Returns safe standing positions in template-local (unrotated) coordinates, best first.
+     *
+     * @return An unmodifiable list of local anchor positions.
+     */
+    public List<BlockPos> getAnchors() {
+        return anchors;
+    }
+}
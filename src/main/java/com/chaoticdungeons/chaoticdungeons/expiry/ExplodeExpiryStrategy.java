@@ -0,0 +1,30 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/ExplodeExpiryStrategy.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ExplosionDamageCalculator;
+import net.minecraft.world.level.Level;
+
+import java.util.List;
+
+/**
+ * The original gate expiry: an explosion at every gate, followed by removal of the gate blocks.
+ * Explosions still ray-cast individually; only the gate removal is batched.
+ */
+public class ExplodeExpiryStrategy implements GateExpiryStrategy {
+
+    private static final float EXPLOSION_POWER = 4.0F;
+
+    @Override
+    public void expire(ServerLevel level, List<BlockPos> gates) {
+        ExplosionDamageCalculator damageCalculator = new ExplosionDamageCalculator();
+        for (BlockPos pos : gates) {
+            ChaoticDungeons.LOGGER.debug("Exploding GateBlock at {}.", pos);
+            // BlockInteraction.BLOCK breaks blocks around the gate; the gate itself resists the blast.
+            level.explode(null, null, damageCalculator, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, EXPLOSION_POWER, false, Level.ExplosionInteraction.BLOCK);
+        }
+        GateRemoval.removeGates(level, gates);
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/GateExpiryMode.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import com.chaoticdungeons.chaoticdungeons.network.GateExpiryEffectsPacket;
+
+/**
+ * The built-in gate expiry strategies, selectable in the server config.
+ */
+public enum GateExpiryMode {
+    EXPLODE(new ExplodeExpiryStrategy()),
+    COLLAPSE(new QuietExpiryStrategy(GateExpiryEffectsPacket.Style.COLLAPSE)),
+    DESPAWN(new QuietExpiryStrategy(GateExpiryEffectsPacket.Style.DESPAWN));
+
+    private final GateExpiryStrategy strategy;
+
+    GateExpiryMode(GateExpiryStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public GateExpiryStrategy getStrategy() {
+        return strategy;
+    }
+}
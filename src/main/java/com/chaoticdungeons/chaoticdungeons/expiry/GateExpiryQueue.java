@@ -0,0 +1,68 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/GateExpiryQueue.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.blocks.gateblocks.GateBlock;
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import com.chaoticdungeons.chaoticdungeons.handlers.DungeonOccupancy;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects gates that expire during a level tick and hands them to the configured
+ * {@link GateExpiryStrategy} as one batch at the end of that tick.
+ */
+public class GateExpiryQueue {
+
+    private static final Map<ServerLevel, List<BlockPos>> PENDING = new HashMap<>();
+
+    /**
+     * Queues an expired gate for removal at the end of the current level tick.
+     *
+     * @param level The ServerLevel the gate is in.
+     * @param pos The gate's position.
+     */
+    public static void schedule(ServerLevel level, BlockPos pos) {
+        PENDING.computeIfAbsent(level, key -> new ArrayList<>()).add(pos.immutable());
+    }
+
+    /**
+     * Expires the batch of the level that just finished ticking.
+     *
+     * @param event The LevelTickEvent instance.
+     */
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.level instanceof ServerLevel level)) {
+            return;
+        }
+        List<BlockPos> batch = PENDING.remove(level);
+        if (batch == null) {
+            return;
+        }
+        // A gate may have been broken or replaced after it was queued.
+        batch.removeIf(pos -> !(level.getBlockState(pos).getBlock() instanceof GateBlock));
+        if (batch.isEmpty()) {
+            return;
+        }
+        GateExpiryMode mode = ChaoticDungeonsConfig.SERVER.gateExpiryMode.get();
+        ChaoticDungeons.LOGGER.debug("GateExpiryQueue: Expiring {} gate(s) in {} with mode {}.", batch.size(), level.dimension().location(), mode);
+        // Occupants are taken before the gates go, and sent back to them in one batch once they are gone.
+        Map<BlockPos, List<ServerPlayer>> occupants = DungeonOccupancy.takeOccupants(level, batch);
+        mode.getStrategy().expire(level, batch);
+        DungeonOccupancy.returnToGates(level, occupants);
+    }
+
+    /**
+     * Drops all queued gates. Called when the server stops.
+     */
+    public static void clear() {
+        PENDING.clear();
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/GateExpiryStrategy.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.List;
+
+/**
+ * Decides what happens to gates whose timer has run out.
+ * Strategies receive every gate of a level that expired in the same tick at once, so they can share work
+ * (block removal, neighbour updates, effect packets) across the whole batch.
+ */
+public interface GateExpiryStrategy {
+
+    /**
+     * Expires a batch of gates. Called on the server thread at the end of the level tick.
+     *
+     * @param level The ServerLevel the gates are in.
+     * @param gates The positions of the expired gates; every position still holds a gate block.
+     */
+    void expire(ServerLevel level, List<BlockPos> gates);
+}
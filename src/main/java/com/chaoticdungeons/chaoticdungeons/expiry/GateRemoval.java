@@ -0,0 +1,85 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/GateRemoval.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import com.chaoticdungeons.chaoticdungeons.network.GateExpiryEffectsPacket;
+import com.chaoticdungeons.chaoticdungeons.network.ModNetwork;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared helpers for removing a batch of gate blocks.
+ */
+public class GateRemoval {
+
+    private static final double EFFECTS_RANGE = 64.0D; // Players further away than this do not receive expiry effects
+
+    /**
+     * Removes all gate blocks of a batch without per-block neighbour updates, then updates every
+     * neighbour outside the batch exactly once, even if it touches several removed gates.
+     *
+     * @param level The ServerLevel the gates are in.
+     * @param gates The gate positions.
+     */
+    public static void removeGates(ServerLevel level, List<BlockPos> gates) {
+        Map<BlockPos, Block> removedBlocks = new HashMap<>(gates.size() * 2);
+        for (BlockPos pos : gates) {
+            removedBlocks.put(pos, level.getBlockState(pos).getBlock());
+            // Clients are still updated; neighbours are handled below in one pass.
+            level.setBlock(pos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS);
+        }
+
+        // Neighbour -> one removed gate next to it
+        Map<BlockPos, BlockPos> neighbours = new LinkedHashMap<>();
+        for (BlockPos pos : gates) {
+            for (Direction direction : Direction.values()) {
+                BlockPos neighbour = pos.relative(direction);
+                if (!removedBlocks.containsKey(neighbour)) {
+                    neighbours.putIfAbsent(neighbour, pos);
+                }
+            }
+        }
+
+        for (Map.Entry<BlockPos, BlockPos> entry : neighbours.entrySet()) {
+            BlockPos neighbour = entry.getKey();
+            BlockState state = level.getBlockState(neighbour);
+            BlockState updated = Block.updateFromNeighbourShapes(state, level, neighbour);
+            if (updated != state) {
+                Block.updateOrDestroy(state, updated, level, neighbour, Block.UPDATE_ALL);
+            }
+            level.neighborChanged(neighbour, removedBlocks.get(entry.getValue()), entry.getValue());
+        }
+    }
+
+    /**
+     * Sends the expiry effects of a batch to nearby players, one packet per player.
+     *
+     * @param level The ServerLevel the gates are in.
+     * @param gates The gate positions.
+     * @param style The effect style.
+     */
+    public static void sendEffects(ServerLevel level, List<BlockPos> gates, GateExpiryEffectsPacket.Style style) {
+        double rangeSqr = EFFECTS_RANGE * EFFECTS_RANGE;
+        for (ServerPlayer player : level.players()) {
+            List<BlockPos> visible = new ArrayList<>();
+            for (BlockPos pos : gates) {
+                if (player.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= rangeSqr) {
+                    visible.add(pos);
+                }
+            }
+            if (!visible.isEmpty()) {
+                ModNetwork.sendToPlayer(player, new GateExpiryEffectsPacket(style, visible));
+            }
+        }
+    }
+}
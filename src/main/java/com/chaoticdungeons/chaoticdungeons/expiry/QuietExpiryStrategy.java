@@ -0,0 +1,29 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/expiry/QuietExpiryStrategy.java
+package com.chaoticdungeons.chaoticdungeons.expiry;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.network.GateExpiryEffectsPacket;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.List;
+
+/**
+ * Removes expired gates without an explosion. The whole batch is removed with shared neighbour updates,
+ * and each nearby player receives a single packet with the particle and sound effects for all of it.
+ */
+public class QuietExpiryStrategy implements GateExpiryStrategy {
+
+    private final GateExpiryEffectsPacket.Style style;
+
+    public QuietExpiryStrategy(GateExpiryEffectsPacket.Style style) {
+        this.style = style;
+    }
+
+    @Override
+    public void expire(ServerLevel level, List<BlockPos> gates) {
+        ChaoticDungeons.LOGGER.debug("Removing {} expired gate(s) with style {}.", gates.size(), style);
+        GateRemoval.removeGates(level, gates);
+        GateRemoval.sendEffects(level, gates, style);
+    }
+}
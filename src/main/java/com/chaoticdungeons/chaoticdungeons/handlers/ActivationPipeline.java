@@ -0,0 +1,230 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/handlers/ActivationPipeline.java
+package com.chaoticdungeons.chaoticdungeons.handlers;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonData;
+import com.chaoticdungeons.chaoticdungeons.dungeons.JigsawPlanner;
+import com.chaoticdungeons.chaoticdungeons.dungeons.ProcessedTemplate;
+import com.chaoticdungeons.chaoticdungeons.dungeons.TemplateSnapshot;
+import com.chaoticdungeons.chaoticdungeons.selectors.DungeonSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.PositionSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.SearchController;
+import com.chaoticdungeons.chaoticdungeons.selectors.SiteContext;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplateManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the world-independent stages of a gate activation on a worker executor.
+ * Dungeon selection, template preparation (including the dungeon's structure processors), teleport-anchor computation and candidate evaluation
+ * (from world generation noise, in parallel batches) happen off the server thread. The resulting
+ * {@link ActivationPlan} is handed back to the gate, which only claims a site and performs the world
+ * mutations (placement and teleport) on the server thread.
+ * Jigsaw dungeons skip template preparation; their piece layout is assembled on the worker for the first evaluated site.
+ * Natural dungeons skip both template preparation and the site search: the gate looks up an existing structure instead.
+ */
+public class ActivationPipeline {
+
+    /**
+     * An activation requested by a player. Captured on the server thread and persisted by the gate
+     * while the pipeline runs, so that an interrupted activation can be restarted after a chunk unload.
+     *
+     * @param playerId The UUID of the activating player.
+     * @param keyType The dungeon type opened by the key used.
+     * @param keyDifficulty The dungeon difficulty opened by the key used.
+     * @param token A per-activation token; stale pipeline results with a different token are discarded.
+     */
+    public record ActivationRequest(UUID playerId, String keyType, int keyDifficulty, long token) {
+
+        public CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putUUID("Player", playerId);
+            tag.putString("KeyType", keyType);
+            tag.putInt("KeyDifficulty", keyDifficulty);
+            tag.putLong("Token", token);
+            return tag;
+        }
+
+        public static ActivationRequest load(CompoundTag tag) {
+            return new ActivationRequest(tag.getUUID("Player"), tag.getString("KeyType"), tag.getInt("KeyDifficulty"), tag.getLong("Token"));
+        }
+    }
+
+    /**
+     * The result of the worker stages: everything the server thread needs to build the dungeon.
+     *
+     * @param request The request this plan was built for.
+     * @param dungeon The chosen dungeon.
+     * @param template The loaded structure template of the chosen dungeon; null for jigsaw dungeons.
+     * @param rotation The rotation the template will be placed with.
+     * @param processed The template's rotated blocks with the dungeon's processors applied; null for jigsaw and natural
+     *                  dungeons, or if the processors read the world and must run during placement.
+     * @param anchorOffsets Safe standing positions relative to the placement origin, already rotated. Empty for jigsaw dungeons.
+     * @param candidates Candidate dungeon sites (with their final Y) that passed every site check, in draw order. Empty for natural dungeons.
+     * @param layout The jigsaw layout planned for the first candidate; null for template dungeons or if planning failed.
+     * @param planNanos Time from submission until the plan was ready, including queueing on the worker.
+     */
+    public record ActivationPlan(ActivationRequest request, DungeonData dungeon, @Nullable StructureTemplate template,
+                                 Rotation rotation, @Nullable ProcessedTemplate processed, List<BlockPos> anchorOffsets, List<BlockPos> candidates,
+                                 @Nullable JigsawPlanner.Layout layout, long planNanos) {
+    }
+
+    private record PreparedTemplate(DungeonData dungeon, @Nullable StructureTemplate template, Rotation rotation,
+                                    @Nullable ProcessedTemplate processed, List<BlockPos> anchorOffsets) {
+    }
+
+    /**
+     * Starts the worker stages for the given request.
+     * Must be called on the server thread: all level state the stages need is captured here.
+     *
+     * @param level The ServerLevel the gate is in.
+     * @param request The activation request.
+     * @param reservedSite The site reserved for the gate when it was placed, or null. It is used without a search
+     *                     if it passes the chosen dungeon's site checks.
+     * @return A future completing on a worker thread with the plan, or empty if no dungeon could be prepared.
+     */
+    public static CompletableFuture<Optional<ActivationPlan>> plan(ServerLevel level, ActivationRequest request, @Nullable BlockPos reservedSite) {
+        StructureTemplateManager templateManager = level.getStructureManager();
+        RegistryAccess registries = level.registryAccess();
+        SiteSearch search = SiteSearch.capture(level);
+        JigsawPlanner.Context jigsawContext = JigsawPlanner.Context.capture(level);
+        Executor worker = Util.backgroundExecutor();
+        long startNanos = System.nanoTime();
+
+        return CompletableFuture.supplyAsync(() -> selectDungeon(request), worker)
+                .thenApplyAsync(dungeon -> dungeon.flatMap(data -> prepareTemplate(templateManager, registries, data, request.token())), worker)
+                .thenComposeAsync(prepared -> {
+                    if (prepared.isEmpty()) {
+                        return CompletableFuture.completedFuture(Optional.<ActivationPlan>empty());
+                    }
+                    PreparedTemplate p = prepared.get();
+                    if (p.dungeon().isNatural()) {
+                        return CompletableFuture.completedFuture(Optional.of(new ActivationPlan(request, p.dungeon(), null, Rotation.NONE,
+                                null, List.of(), List.of(), null, System.nanoTime() - startNanos)));
+                    }
+                    SiteContext siteContext = search.context().withBiomeTag(p.dungeon().biomeTag());
+                    CompletableFuture<List<BlockPos>> sites = reservedSite == null
+                            ? search.run(siteContext, worker)
+                            : PositionSelector.evaluateCandidates(siteContext, List.of(new BlockPos(reservedSite.getX(), 0, reservedSite.getZ())), search.controller(), worker)
+                                    .thenCompose(reserved -> reserved.isEmpty() ? search.run(siteContext, worker) : CompletableFuture.completedFuture(reserved));
+                    return sites.thenApply(candidates -> {
+                        JigsawPlanner.Layout layout = p.dungeon().isJigsaw() && !candidates.isEmpty()
+                                ? JigsawPlanner.plan(jigsawContext, p.dungeon(), candidates.get(0), request.token()).orElse(null)
+                                : null;
+                        return Optional.of(new ActivationPlan(request, p.dungeon(), p.template(), p.rotation(), p.processed(), p.anchorOffsets(),
+                                candidates, layout, System.nanoTime() - startNanos));
+                    });
+                }, worker);
+    }
+
+    /**
+     * Speculatively searches dungeon sites for a freshly placed gate, before any key is used on it.
+     * The templates of every dungeon the gate can lead to (all key tiers of its type) are loaded and
+     * indexed on the way, so that a later activation finds them cached.
+     * Must be called on the server thread.
+     *
+     * @param level The ServerLevel the gate is in.
+     * @param dungeonType The gate's dungeon type.
+     * @return A future completing on a worker thread with the evaluated sites, in draw order.
+     */
+    public static CompletableFuture<List<BlockPos>> reserve(ServerLevel level, String dungeonType) {
+        StructureTemplateManager templateManager = level.getStructureManager();
+        SiteSearch search = SiteSearch.capture(level);
+        Executor worker = Util.backgroundExecutor();
+
+        return CompletableFuture.runAsync(() -> {
+            for (DungeonData dungeon : DungeonSelector.selectDungeons(dungeonType, 0)) {
+                if (!dungeon.isJigsaw() && !dungeon.isNatural()) {
+                    StructureSummoner.loadTemplate(templateManager, dungeon).ifPresent(TemplateSnapshot::of);
+                }
+            }
+        }, worker).thenComposeAsync(ignored -> search.run(search.context(), worker), worker);
+    }
+
+    /**
+     * The level state a site search needs, captured on the server thread.
+     */
+    private record SiteSearch(BlockPos spawnPoint, Collection<BlockPos> existingDungeons, SearchController controller,
+                              SearchController.SearchParameters parameters, SiteContext context) {
+
+        static SiteSearch capture(ServerLevel level) {
+            Collection<BlockPos> existingDungeons = PositionSelector.snapshotExistingDungeons(level);
+            SearchController controller = SearchController.get(level);
+            return new SiteSearch(level.getSharedSpawnPos(), existingDungeons, controller,
+                    controller.parameters(level, existingDungeons.size()), SiteContext.capture(level));
+        }
+
+        CompletableFuture<List<BlockPos>> run(SiteContext siteContext, Executor worker) {
+            List<BlockPos> candidates = PositionSelector.proposeCandidates(spawnPoint, existingDungeons, controller, parameters, ThreadLocalRandom.current());
+            return PositionSelector.evaluateCandidates(siteContext, candidates, controller, worker);
+        }
+    }
+
+    /**
+     * Stage 1: selects a random dungeon matching the key.
+     */
+    private static Optional<DungeonData> selectDungeon(ActivationRequest request) {
+        List<DungeonData> availableDungeons = DungeonSelector.selectDungeons(request.keyType(), request.keyDifficulty());
+
+        if (availableDungeons.isEmpty()) {
+            ChaoticDungeons.LOGGER.warn("No suitable dungeons found for key type '{}' and difficulty {}.", request.keyType(), request.keyDifficulty());
+            return Optional.empty();
+        }
+
+        DungeonData chosenDungeon = availableDungeons.get(ThreadLocalRandom.current().nextInt(availableDungeons.size()));
+        ChaoticDungeons.LOGGER.debug("Selected dungeon: {} (Type: {}, Difficulty: {})", chosenDungeon.structure(), chosenDungeon.type(), chosenDungeon.difficulty());
+        return Optional.of(chosenDungeon);
+    }
+
+    /**
+     * Stage 2: loads the template, picks a rotation, rotates and processes its blocks and computes the teleport anchors for it.
+     * Processed templates are cached per variant, which is derived from the activation's token.
+     * Jigsaw dungeons have no single template; their pieces are planned once a site is known.
+     * Natural dungeons are never placed, so they have no template either.
+     */
+    private static Optional<PreparedTemplate> prepareTemplate(StructureTemplateManager templateManager, RegistryAccess registries,
+                                                              DungeonData dungeon, long seed) {
+        if (dungeon.isJigsaw() || dungeon.isNatural()) {
+            return Optional.of(new PreparedTemplate(dungeon, null, Rotation.NONE, null, List.of()));
+        }
+        return StructureSummoner.loadTemplate(templateManager, dungeon).map(template -> {
+            Rotation rotation = Rotation.getRandom(RandomSource.create());
+            ResourceLocation processors = dungeon.processorList();
+            ProcessedTemplate processed = processors == null
+                    ? ProcessedTemplate.rotated(template, rotation)
+                    : ProcessedTemplate.get(registries, template, rotation, processors, ProcessedTemplate.variantOf(seed)).orElse(null);
+            return new PreparedTemplate(dungeon, template, rotation, processed, computeAnchorOffsets(template, rotation));
+        });
+    }
+
+    /**
+     * Transforms the template's teleport anchors into offsets from the placement origin.
+     *
+     * @param template The structure template.
+     * @param rotation The rotation the template is (or will be) placed with.
+     * @return The rotated anchor offsets, best first.
+     */
+    public static List<BlockPos> computeAnchorOffsets(StructureTemplate template, Rotation rotation) {
+        StructurePlaceSettings settings = StructureSummoner.createPlaceSettings(rotation);
+        return TemplateSnapshot.of(template).getAnchors().stream()
+                .map(anchor -> StructureTemplate.calculateRelativePosition(settings, anchor))
+                .toList();
+    }
+}
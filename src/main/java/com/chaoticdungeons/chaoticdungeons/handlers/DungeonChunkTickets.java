@@ -0,0 +1,150 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/handlers/DungeonChunkTickets.java
+package com.chaoticdungeons.chaoticdungeons.handlers;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Chunk tickets held around dungeon sites.
+ * A reserved site gets a short-lived {@link #PREBUILD} ticket so that its chunks are generated early;
+ * an active dungeon holds an {@link #ACTIVE} ticket over its whole area from activation until the gate
+ * expires, so its chunks neither unload while players move between gate and dungeon nor stay loaded afterwards.
+ */
+public class DungeonChunkTickets {
+
+    private static final int PREBUILD_RADIUS = 2; // Chunks around a reserved site generated ahead of the first activation
+    private static final int PREBUILD_LIFESPAN_TICKS = 30 * 20;
+    private static final int ACTIVE_MARGIN = 1; // Extra ring of chunks around a dungeon's bounds
+    private static final int MAX_ACTIVE_RADIUS = 8;
+    private static final int WARM_UP_RADIUS = 2; // Chunks around the arrival point that must be loaded before a teleport
+
+    /**
+     * Keeps the chunks around a reserved site loaded for {@value #PREBUILD_LIFESPAN_TICKS} ticks, long enough
+     * for them to be generated; afterwards they unload normally and are read back from disk on activation.
+     */
+    public static final TicketType<ChunkPos> PREBUILD = TicketType.create(ChaoticDungeons.MOD_ID + "_prebuild",
+            Comparator.comparingLong(ChunkPos::toLong), PREBUILD_LIFESPAN_TICKS);
+
+    /**
+     * Keeps the chunks of an active dungeon loaded. Never expires; released explicitly at teardown.
+     */
+    public static final TicketType<ChunkPos> ACTIVE = TicketType.create(ChaoticDungeons.MOD_ID + "_active",
+            Comparator.comparingLong(ChunkPos::toLong));
+
+    /**
+     * A square area of chunks covered by an {@link #ACTIVE} ticket. Stored by the gate so that exactly
+     * the same ticket can be re-added after a reload and removed at teardown.
+     *
+     * @param center The centre chunk.
+     * @param radius The radius in chunks.
+     */
+    public record Area(ChunkPos center, int radius) {
+
+        /**
+         * Covers a dungeon's bounds plus a margin, capped at {@value #MAX_ACTIVE_RADIUS} chunks.
+         *
+         * @param bounds The dungeon bounds.
+         * @return The area.
+         */
+        public static Area of(BoundingBox bounds) {
+            int minX = SectionPos.blockToSectionCoord(bounds.minX());
+            int maxX = SectionPos.blockToSectionCoord(bounds.maxX());
+            int minZ = SectionPos.blockToSectionCoord(bounds.minZ());
+            int maxZ = SectionPos.blockToSectionCoord(bounds.maxZ());
+            ChunkPos center = new ChunkPos((minX + maxX) >> 1, (minZ + maxZ) >> 1);
+            int radius = Math.max(Math.max(maxX - center.x, center.x - minX), Math.max(maxZ - center.z, center.z - minZ)) + ACTIVE_MARGIN;
+            return new Area(center, Math.min(radius, MAX_ACTIVE_RADIUS));
+        }
+
+        public CompoundTag save() {
+            CompoundTag tag = new CompoundTag();
+            tag.putLong("C", center.toLong());
+            tag.putByte("R", (byte) radius);
+            return tag;
+        }
+
+        public static Area load(CompoundTag tag) {
+            return new Area(new ChunkPos(tag.getLong("C")), tag.getByte("R"));
+        }
+    }
+
+    /**
+     * Adds the {@link #ACTIVE} ticket for a dungeon area.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param area The dungeon's chunk area.
+     */
+    public static void hold(ServerLevel level, Area area) {
+        level.getChunkSource().addRegionTicket(ACTIVE, area.center(), area.radius(), area.center());
+        ChaoticDungeons.LOGGER.debug("DungeonChunkTickets: Holding {} chunks around {}.", (2 * area.radius() + 1) * (2 * area.radius() + 1), area.center());
+    }
+
+    /**
+     * Removes the {@link #ACTIVE} ticket for a dungeon area.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param area The area passed to {@link #hold}.
+     */
+    public static void release(ServerLevel level, Area area) {
+        level.getChunkSource().removeRegionTicket(ACTIVE, area.center(), area.radius(), area.center());
+        ChaoticDungeons.LOGGER.debug("DungeonChunkTickets: Released chunks around {}.", area.center());
+    }
+
+    /**
+     * Loads the chunks around an arrival point. Must be called on the server thread.
+     * Chunks that are already loaded (e.g. under an {@link #ACTIVE} ticket) complete immediately.
+     * Chunks that fail to load are logged and do not hold up the rest.
+     *
+     * @param level The ServerLevel of the arrival point.
+     * @param pos The arrival point.
+     * @return A future completing once every chunk within {@value #WARM_UP_RADIUS} chunks is fully loaded or has failed.
+     */
+    public static CompletableFuture<Void> warmUp(ServerLevel level, BlockPos pos) {
+        ChunkPos center = new ChunkPos(pos);
+        List<CompletableFuture<?>> chunks = new ArrayList<>();
+        for (int dx = -WARM_UP_RADIUS; dx <= WARM_UP_RADIUS; dx++) {
+            for (int dz = -WARM_UP_RADIUS; dz <= WARM_UP_RADIUS; dz++) {
+                ChunkPos chunk = new ChunkPos(center.x + dx, center.z + dz);
+                chunks.add(level.getChunkSource().getChunkFuture(chunk.x, chunk.z, ChunkStatus.FULL, true)
+                        .thenAccept(result -> result.ifRight(failure ->
+                                ChaoticDungeons.LOGGER.warn("DungeonChunkTickets: Chunk {} around arrival point {} failed to load: {}", chunk, pos, failure))));
+            }
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Generates the chunks around a reserved dungeon site in the background. The ticket expires on its own.
+     *
+     * @param level The ServerLevel of the site.
+     * @param site The reserved site.
+     */
+    public static void pregenerate(ServerLevel level, BlockPos site) {
+        ChunkPos center = new ChunkPos(site);
+        level.getChunkSource().addRegionTicket(PREBUILD, center, PREBUILD_RADIUS, center);
+        ChaoticDungeons.LOGGER.debug("DungeonChunkTickets: Pre-generating chunks around reserved site {}.", site);
+    }
+
+    /**
+     * Removes the pre-generation ticket of a reservation that was given up before it expired.
+     *
+     * @param level The ServerLevel of the site.
+     * @param site The site passed to {@link #pregenerate}.
+     */
+    public static void cancelPregenerate(ServerLevel level, BlockPos site) {
+        ChunkPos center = new ChunkPos(site);
+        level.getChunkSource().removeRegionTicket(PREBUILD, center, PREBUILD_RADIUS, center);
+    }
+}
@@ -0,0 +1,81 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/handlers/DungeonInstanceListener.java
+package com.chaoticdungeons.chaoticdungeons.handlers;
+
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonInstanceManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ExplosionEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+
+/**
+ * Feeds block changes inside pooled dungeon instances into their deltas.
+ * Listeners run at the lowest priority so that cancelled changes are never recorded.
+ * Also wakes and puts to sleep the instances' template entities as players move.
+ */
+public class DungeonInstanceListener {
+
+    private static final int ENTITY_UPDATE_INTERVAL = 20; // Ticks between player distance checks
+    private static final int SLEEP_MARGIN = 16; // Blocks beyond the wake radius before a room goes back to sleep
+
+    /**
+     * Registers the listeners on the given (game) event bus.
+     *
+     * @param eventBus The Forge event bus.
+     */
+    public static void register(IEventBus eventBus) {
+        eventBus.addListener(EventPriority.LOWEST, DungeonInstanceListener::onBlockBreak);
+        eventBus.addListener(EventPriority.LOWEST, DungeonInstanceListener::onBlockPlace);
+        eventBus.addListener(EventPriority.LOWEST, DungeonInstanceListener::onFluidPlace);
+        eventBus.addListener(EventPriority.LOWEST, DungeonInstanceListener::onNeighborNotify);
+        eventBus.addListener(EventPriority.LOWEST, DungeonInstanceListener::onExplosion);
+        eventBus.addListener(DungeonInstanceListener::onLevelTick);
+    }
+
+    private static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && event.level instanceof ServerLevel level && level.getGameTime() % ENTITY_UPDATE_INTERVAL == 0) {
+            int radius = ChaoticDungeonsConfig.SERVER.entityWakeRadius.get();
+            DungeonInstanceManager.get(level).updateEntities(level, radius, radius + SLEEP_MARGIN);
+        }
+    }
+
+    private static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            DungeonInstanceManager.get(level).recordChange(level, event.getPos(), event.getState());
+        }
+    }
+
+    private static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            DungeonInstanceManager.get(level).recordChange(level, event.getPos(), event.getBlockSnapshot().getReplacedBlock());
+        }
+    }
+
+    private static void onFluidPlace(BlockEvent.FluidPlaceBlockEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            DungeonInstanceManager.get(level).recordChange(level, event.getPos(), event.getOriginalState());
+        }
+    }
+
+    /**
+     * Catches changes without a dedicated event (pistons, fluids, redstone, mobs). The previous state is
+     * not known here, so only positions covered by the dungeon template can be recorded.
+     */
+    private static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            DungeonInstanceManager.get(level).recordChange(level, event.getPos(), null);
+        }
+    }
+
+    private static void onExplosion(ExplosionEvent.Detonate event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            DungeonInstanceManager manager = DungeonInstanceManager.get(level);
+            for (BlockPos pos : event.getAffectedBlocks()) {
+                manager.recordChange(level, pos, level.getBlockState(pos));
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/handlers/DungeonOccupancy.java
+package com.chaoticdungeons.chaoticdungeons.handlers;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Index of the players inside each live dungeon, keyed by the gate that owns it.
+ * Dungeon bounds are indexed by chunk column, and a player's dungeon is only looked up again when the
+ * player enters another chunk section, so keeping the index current costs one map lookup per section
+ * crossing instead of a scan of every player against every dungeon. Occupancy is section-granular:
+ * a player counts as inside a dungeon while their section overlaps its bounds.
+ * When gates expire, their occupants are taken out of the index and sent back to the gates in one batch.
+ */
+public class DungeonOccupancy {
+
+    private static final Map<ServerLevel, Index> INDICES = new HashMap<>();
+
+    private static final class LiveDungeon {
+        private final BlockPos gate;
+        private final BoundingBox bounds;
+        private final Set<UUID> occupants = new LinkedHashSet<>();
+
+        private LiveDungeon(BlockPos gate, BoundingBox bounds) {
+            this.gate = gate;
+            this.bounds = bounds;
+        }
+    }
+
+    private static final class Index {
+        private final Map<BlockPos, LiveDungeon> byGate = new HashMap<>();
+        private final Long2ObjectMap<List<LiveDungeon>> byColumn = new Long2ObjectOpenHashMap<>(); // ChunkPos.asLong -> dungeons overlapping it
+        private final Map<UUID, LiveDungeon> byPlayer = new HashMap<>();
+    }
+
+    private DungeonOccupancy() {
+    }
+
+    /**
+     * Registers the listeners on the given (game) event bus.
+     *
+     * @param eventBus The Forge event bus.
+     */
+    public static void register(IEventBus eventBus) {
+        eventBus.addListener(DungeonOccupancy::onEnteringSection);
+        eventBus.addListener(DungeonOccupancy::onEntityJoinLevel);
+        eventBus.addListener(DungeonOccupancy::onEntityLeaveLevel);
+    }
+
+    /**
+     * Adds a live dungeon, or replaces the one the gate already had. Players already inside are found with one scan of the level's players.
+     *
+     * @param level The ServerLevel of the gate and its dungeon.
+     * @param gate The owning gate's position.
+     * @param bounds The dungeon's bounds.
+     */
+    public static void add(ServerLevel level, BlockPos gate, BoundingBox bounds) {
+        Index index = INDICES.computeIfAbsent(level, key -> new Index());
+        remove(index, gate);
+        LiveDungeon dungeon = new LiveDungeon(gate.immutable(), bounds);
+        index.byGate.put(dungeon.gate, dungeon);
+        for (int chunkX = SectionPos.blockToSectionCoord(bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(bounds.maxZ()); chunkZ++) {
+                index.byColumn.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new ArrayList<>()).add(dungeon);
+            }
+        }
+        for (ServerPlayer player : level.players()) {
+            locate(index, player.getUUID(), SectionPos.of(player));
+        }
+    }
+
+    /**
+     * Removes a gate's dungeon from the index. Does nothing if the gate has none.
+     *
+     * @param level The ServerLevel of the gate.
+     * @param gate The gate's position.
+     */
+    public static void remove(ServerLevel level, BlockPos gate) {
+        Index index = INDICES.get(level);
+        if (index != null) {
+            remove(index, gate);
+        }
+    }
+
+    @Nullable
+    private static LiveDungeon remove(Index index, BlockPos gate) {
+        LiveDungeon dungeon = index.byGate.remove(gate);
+        if (dungeon == null) {
+            return null;
+        }
+        for (int chunkX = SectionPos.blockToSectionCoord(dungeon.bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(dungeon.bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(dungeon.bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(dungeon.bounds.maxZ()); chunkZ++) {
+                long column = ChunkPos.asLong(chunkX, chunkZ);
+                List<LiveDungeon> dungeons = index.byColumn.get(column);
+                if (dungeons != null && dungeons.remove(dungeon) && dungeons.isEmpty()) {
+                    index.byColumn.remove(column);
+                }
+            }
+        }
+        for (UUID occupant : dungeon.occupants) {
+            index.byPlayer.remove(occupant);
+        }
+        return dungeon;
+    }
+
+    /**
+     * Returns the players currently inside a gate's dungeon.
+     *
+     * @param level The ServerLevel of the gate.
+     * @param gate The gate's position.
+     * @return The online occupants; empty if the gate has no indexed dungeon.
+     */
+    public static List<ServerPlayer> getOccupants(ServerLevel level, BlockPos gate) {
+        Index index = INDICES.get(level);
+        LiveDungeon dungeon = index == null ? null : index.byGate.get(gate);
+        return dungeon == null ? List.of() : resolve(level, dungeon.occupants);
+    }
+
+    /**
+     * Returns the gate owning the dungeon a player is in.
+     *
+     * @param player The player.
+     * @return The gate's position, or empty if the player is in no indexed dungeon.
+     */
+    public static Optional<BlockPos> getDungeonGate(ServerPlayer player) {
+        Index index = player.level() instanceof ServerLevel level ? INDICES.get(level) : null;
+        LiveDungeon dungeon = index == null ? null : index.byPlayer.get(player.getUUID());
+        return dungeon == null ? Optional.empty() : Optional.of(dungeon.gate);
+    }
+
+    /**
+     * Removes the dungeons of a batch of gates from the index and returns their occupants.
+     * Called before the gates are expired, so that the occupants are still known once the gates are gone.
+     *
+     * @param level The ServerLevel of the gates.
+     * @param gates The gate positions.
+     * @return The online occupants per gate, for gates that have any.
+     */
+    public static Map<BlockPos, List<ServerPlayer>> takeOccupants(ServerLevel level, List<BlockPos> gates) {
+        Index index = INDICES.get(level);
+        if (index == null) {
+            return Map.of();
+        }
+        Map<BlockPos, List<ServerPlayer>> occupants = new LinkedHashMap<>();
+        for (BlockPos gate : gates) {
+            LiveDungeon dungeon = remove(index, gate);
+            if (dungeon != null && !dungeon.occupants.isEmpty()) {
+                List<ServerPlayer> players = resolve(level, dungeon.occupants);
+                if (!players.isEmpty()) {
+                    occupants.put(dungeon.gate, players);
+                }
+            }
+        }
+        return occupants;
+    }
+
+    /**
+     * Sends the occupants taken from expired gates back to where the gates stood, every gate's group in one teleport.
+     *
+     * @param level The ServerLevel of the gates.
+     * @param occupants The occupants per gate, as returned by {@link #takeOccupants(ServerLevel, List)}.
+     */
+    public static void returnToGates(ServerLevel level, Map<BlockPos, List<ServerPlayer>> occupants) {
+        for (Map.Entry<BlockPos, List<ServerPlayer>> entry : occupants.entrySet()) {
+            List<ServerPlayer> players = entry.getValue().stream().filter(player -> !player.isRemoved()).toList();
+            ChaoticDungeons.LOGGER.debug("DungeonOccupancy: Returning {} player(s) to the expired gate at {}.", players.size(), entry.getKey());
+            TeleportHandler.handleGroupTeleport(players, level, entry.getKey(), List.of());
+        }
+    }
+
+    private static List<ServerPlayer> resolve(ServerLevel level, Set<UUID> ids) {
+        List<ServerPlayer> players = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            ServerPlayer player = level.getServer().getPlayerList().getPlayer(id);
+            if (player != null && player.level() == level) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Moves a player to the dungeon overlapping the given section, or out of any dungeon.
+     */
+    private static void locate(Index index, UUID player, SectionPos section) {
+        LiveDungeon found = null;
+        List<LiveDungeon> column = index.byColumn.get(ChunkPos.asLong(section.x(), section.z()));
+        if (column != null) {
+            for (LiveDungeon dungeon : column) {
+                if (dungeon.bounds.minY() <= section.maxBlockY() && dungeon.bounds.maxY() >= section.minBlockY()) {
+                    found = dungeon;
+                    break;
+                }
+            }
+        }
+        LiveDungeon current = index.byPlayer.get(player);
+        if (current == found) {
+            return;
+        }
+        if (current != null) {
+            current.occupants.remove(player);
+        }
+        if (found != null) {
+            found.occupants.add(player);
+            index.byPlayer.put(player, found);
+        } else {
+            index.byPlayer.remove(player);
+        }
+    }
+
+    private static void leave(Index index, UUID player) {
+        LiveDungeon current = index.byPlayer.remove(player);
+        if (current != null) {
+            current.occupants.remove(player);
+        }
+    }
+
+    private static void onEnteringSection(EntityEvent.EnteringSection event) {
+        if (event.getEntity() instanceof ServerPlayer player && player.level() instanceof ServerLevel level) {
+            Index index = INDICES.get(level);
+            if (index != null) {
+                locate(index, player.getUUID(), event.getNewPos());
+            }
+        }
+    }
+
+    private static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player && event.getLevel() instanceof ServerLevel level) {
+            Index index = INDICES.get(level);
+            if (index != null) {
+                locate(index, player.getUUID(), SectionPos.of(player));
+            }
+        }
+    }
+
+    private static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player && event.getLevel() instanceof ServerLevel level) {
+            Index index = INDICES.get(level);
+            if (index != null) {
+                leave(index, player.getUUID());
+            }
+        }
+    }
+
+    /**
+     * Drops every index. Called when the server stops.
+     */
+    public static void clear() {
+        INDICES.clear();
+    }
+}
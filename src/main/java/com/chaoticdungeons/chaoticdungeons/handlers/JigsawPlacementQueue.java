@@ -0,0 +1,287 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/handlers/JigsawPlacementQueue.java
+package com.chaoticdungeons.chaoticdungeons.handlers;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import com.chaoticdungeons.chaoticdungeons.dungeons.JigsawPlanner;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.levelgen.structure.StructurePiece;
+import net.minecraftforge.event.TickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Places planned jigsaw dungeons piece by piece at the end of server ticks, within a configurable
+ * time budget per tick, so that large multi-room dungeons do not freeze a single tick.
+ * Lazy dungeons only place their entry room up front; every other room is placed once a player
+ * comes within {@value #MATERIALIZE_DISTANCE} blocks of it, and is outlined with particles until then.
+ * The queue itself is not saved: gates persist their lazy dungeons and {@link #restoreLazy} them after a restart.
+ */
+public class JigsawPlacementQueue {
+
+    private static final int MATERIALIZE_DISTANCE = 24; // Blocks between a player and a room's bounds before it is placed
+    private static final int FRONTIER_DISTANCE = 48; // Unplaced rooms this close to a player are outlined
+    private static final int FRONTIER_INTERVAL = 20; // Ticks between frontier outlines
+    private static final int FRONTIER_STEP = 2; // Blocks between outline particles
+
+    private static final Deque<Task> TASKS = new ArrayDeque<>();
+    private static final List<LazyDungeon> LAZY = new ArrayList<>();
+
+    private record Task(ServerLevel level, BlockPos entrance, Deque<StructurePiece> pieces, @Nullable LazyDungeon deferred,
+                        BlockPos pivot, RandomSource random, CompletableFuture<Boolean> done) {
+    }
+
+    /**
+     * The rooms of a lazy dungeon that are still to be placed. {@code placed} holds the indices, in the layout's
+     * piece list, of the rooms placed so far; {@code onRoomPlaced} hands a copy of them to the owning gate.
+     */
+    private record LazyDungeon(ServerLevel level, BlockPos entrance, List<StructurePiece> pieces, List<StructurePiece> pending,
+                               BitSet placed, BlockPos pivot, RandomSource random, Consumer<BitSet> onRoomPlaced) {
+    }
+
+    /**
+     * Queues a layout for placement. Must be called on the server thread.
+     *
+     * @param level The ServerLevel to place the layout in.
+     * @param layout The planned layout.
+     * @param seed The seed for per-piece randomness (e.g. processors).
+     * @return A future completed on the server thread once every piece is placed; false if placement failed.
+     */
+    public static CompletableFuture<Boolean> enqueue(ServerLevel level, JigsawPlanner.Layout layout, long seed) {
+        return enqueue(level, layout, seed, layout.pieces(), null);
+    }
+
+    /**
+     * Queues only the entry room (the start piece) of a layout; the other rooms are placed as players approach them.
+     * Must be called on the server thread.
+     *
+     * @param level The ServerLevel to place the layout in.
+     * @param layout The planned layout.
+     * @param seed The seed for per-piece randomness (e.g. processors).
+     * @param onRoomPlaced Called on the server thread with the indices of the placed rooms whenever one of the other rooms is placed.
+     * @return A future completed on the server thread once the entry room is placed; false if placement failed.
+     */
+    public static CompletableFuture<Boolean> enqueueLazy(ServerLevel level, JigsawPlanner.Layout layout, long seed, Consumer<BitSet> onRoomPlaced) {
+        List<StructurePiece> pieces = layout.pieces();
+        BitSet placed = new BitSet();
+        placed.set(0);
+        LazyDungeon deferred = new LazyDungeon(level, layout.entrance(), pieces, new ArrayList<>(pieces.subList(1, pieces.size())), placed,
+                pivotOf(layout), RandomSource.create(seed), onRoomPlaced);
+        return enqueue(level, layout, seed, pieces.subList(0, 1), deferred);
+    }
+
+    /**
+     * Resumes a lazy dungeon whose waiting rooms were dropped when the server stopped. Only the rooms that had not
+     * been placed are queued again. Must be called on the server thread.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param layout The dungeon's layout, planned again from its site and seed.
+     * @param seed The seed for per-piece randomness (e.g. processors).
+     * @param placed The indices of the rooms placed before the restart, as last handed to {@code onRoomPlaced}.
+     * @param onRoomPlaced Called on the server thread with the indices of the placed rooms whenever a room is placed.
+     */
+    public static void restoreLazy(ServerLevel level, JigsawPlanner.Layout layout, long seed, BitSet placed, Consumer<BitSet> onRoomPlaced) {
+        List<StructurePiece> pieces = layout.pieces();
+        List<StructurePiece> pending = new ArrayList<>();
+        for (int i = placed.nextClearBit(0); i < pieces.size(); i = placed.nextClearBit(i + 1)) {
+            pending.add(pieces.get(i));
+        }
+        if (!pending.isEmpty()) {
+            LAZY.add(new LazyDungeon(level, layout.entrance(), pieces, pending, (BitSet) placed.clone(), pivotOf(layout),
+                    RandomSource.create(seed), onRoomPlaced));
+        }
+    }
+
+    private static CompletableFuture<Boolean> enqueue(ServerLevel level, JigsawPlanner.Layout layout, long seed,
+                                                      List<StructurePiece> now, @Nullable LazyDungeon deferred) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        TASKS.add(new Task(level, layout.entrance(), new ArrayDeque<>(now), deferred, pivotOf(layout), RandomSource.create(seed), done));
+        return done;
+    }
+
+    private static BlockPos pivotOf(JigsawPlanner.Layout layout) {
+        return layout.pieces().get(0).getBoundingBox().getCenter();
+    }
+
+    /**
+     * Returns the completion of a dungeon's queued placement, if it is still queued.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param entrance The dungeon's entrance, as planned.
+     * @return The future returned when the dungeon was queued, or empty if its placement is done or was dropped.
+     */
+    public static Optional<CompletableFuture<Boolean>> getPending(ServerLevel level, BlockPos entrance) {
+        for (Task task : TASKS) {
+            if (task.level() == level && task.entrance().equals(entrance)) {
+                return Optional.of(task.done());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns which rooms of a lazy dungeon have been placed, if any of its rooms are still waiting.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param entrance The dungeon's entrance, as planned.
+     * @return A copy of the indices of the placed rooms, or empty if no rooms of the dungeon are waiting.
+     */
+    public static Optional<BitSet> getPlacedRooms(ServerLevel level, BlockPos entrance) {
+        for (LazyDungeon dungeon : LAZY) {
+            if (dungeon.level() == level && dungeon.entrance().equals(entrance)) {
+                return Optional.of((BitSet) dungeon.placed().clone());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stops placing the rooms of a dungeon. Called when its gate expires or is removed.
+     *
+     * @param level The ServerLevel of the dungeon.
+     * @param entrance The dungeon's entrance, as planned.
+     */
+    public static void cancel(ServerLevel level, BlockPos entrance) {
+        LAZY.removeIf(dungeon -> dungeon.level() == level && dungeon.entrance().equals(entrance));
+        List<Task> cancelled = new ArrayList<>();
+        TASKS.removeIf(task -> task.level() == level && task.entrance().equals(entrance) && cancelled.add(task));
+        // Completed outside the removal: completion callbacks may cancel again
+        cancelled.forEach(task -> task.done().complete(false));
+    }
+
+    /**
+     * Places queued pieces until the tick budget is used up: pending activations first, then rooms of
+     * lazy dungeons that players are approaching.
+     *
+     * @param event The ServerTickEvent instance.
+     */
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || (TASKS.isEmpty() && LAZY.isEmpty())) {
+            return;
+        }
+        long budgetNanos = ChaoticDungeonsConfig.SERVER.placementBudgetMillis.get() * 1_000_000L;
+        long start = System.nanoTime();
+        while (!TASKS.isEmpty() && System.nanoTime() - start < budgetNanos) {
+            Task task = TASKS.peek();
+            StructurePiece piece = task.pieces().poll();
+            if (piece != null && !place(task.level(), piece, task.random(), task.pivot())) {
+                TASKS.poll();
+                task.done().complete(false);
+                continue;
+            }
+            if (task.pieces().isEmpty()) {
+                TASKS.poll();
+                if (task.deferred() != null && !task.deferred().pending().isEmpty()) {
+                    LAZY.add(task.deferred());
+                }
+                task.done().complete(true);
+            }
+        }
+
+        boolean outline = event.getServer().getTickCount() % FRONTIER_INTERVAL == 0;
+        for (Iterator<LazyDungeon> iterator = LAZY.iterator(); iterator.hasNext(); ) {
+            LazyDungeon dungeon = iterator.next();
+            materializeNearPlayers(dungeon, start, budgetNanos);
+            if (dungeon.pending().isEmpty()) {
+                iterator.remove();
+            } else if (outline) {
+                outlineFrontier(dungeon);
+            }
+        }
+    }
+
+    /**
+     * Places the pending rooms players are approaching, nearest first, while the budget lasts.
+     */
+    private static void materializeNearPlayers(LazyDungeon dungeon, long start, long budgetNanos) {
+        List<ServerPlayer> players = dungeon.level().players();
+        while (System.nanoTime() - start < budgetNanos) {
+            StructurePiece nearest = null;
+            double nearestDistance = Double.MAX_VALUE;
+            for (StructurePiece piece : dungeon.pending()) {
+                double distance = distanceToNearestPlayer(piece.getBoundingBox(), players);
+                if (distance <= MATERIALIZE_DISTANCE && distance < nearestDistance) {
+                    nearest = piece;
+                    nearestDistance = distance;
+                }
+            }
+            if (nearest == null) {
+                return;
+            }
+            dungeon.pending().remove(nearest);
+            place(dungeon.level(), nearest, dungeon.random(), dungeon.pivot());
+            dungeon.placed().set(dungeon.pieces().indexOf(nearest));
+            dungeon.onRoomPlaced().accept((BitSet) dungeon.placed().clone());
+        }
+    }
+
+    /**
+     * Outlines the bounds of pending rooms near players, so that players can see where the dungeon continues.
+     */
+    private static void outlineFrontier(LazyDungeon dungeon) {
+        List<ServerPlayer> players = dungeon.level().players();
+        for (StructurePiece piece : dungeon.pending()) {
+            BoundingBox box = piece.getBoundingBox();
+            if (distanceToNearestPlayer(box, players) > FRONTIER_DISTANCE) {
+                continue;
+            }
+            // The bottom and top edges are enough to show the room's footprint
+            for (int y : new int[]{box.minY(), box.maxY() + 1}) {
+                for (int x = box.minX(); x <= box.maxX() + 1; x += FRONTIER_STEP) {
+                    dungeon.level().sendParticles(ParticleTypes.END_ROD, x, y, box.minZ(), 1, 0, 0, 0, 0);
+                    dungeon.level().sendParticles(ParticleTypes.END_ROD, x, y, box.maxZ() + 1, 1, 0, 0, 0, 0);
+                }
+                for (int z = box.minZ(); z <= box.maxZ() + 1; z += FRONTIER_STEP) {
+                    dungeon.level().sendParticles(ParticleTypes.END_ROD, box.minX(), y, z, 1, 0, 0, 0, 0);
+                    dungeon.level().sendParticles(ParticleTypes.END_ROD, box.maxX() + 1, y, z, 1, 0, 0, 0, 0);
+                }
+            }
+        }
+    }
+
+    private static double distanceToNearestPlayer(BoundingBox box, List<ServerPlayer> players) {
+        double nearest = Double.MAX_VALUE;
+        for (ServerPlayer player : players) {
+            double dx = Math.max(0.0D, Math.max(box.minX() - player.getX(), player.getX() - (box.maxX() + 1)));
+            double dy = Math.max(0.0D, Math.max(box.minY() - player.getY(), player.getY() - (box.maxY() + 1)));
+            double dz = Math.max(0.0D, Math.max(box.minZ() - player.getZ(), player.getZ() - (box.maxZ() + 1)));
+            nearest = Math.min(nearest, Math.sqrt(dx * dx + dy * dy + dz * dz));
+        }
+        return nearest;
+    }
+
+    private static boolean place(ServerLevel level, StructurePiece piece, RandomSource random, BlockPos pivot) {
+        try {
+            BoundingBox box = piece.getBoundingBox();
+            piece.postProcess(level, level.structureManager(), level.getChunkSource().getGenerator(), random, box, new ChunkPos(box.getCenter()), pivot);
+            return true;
+        } catch (RuntimeException e) {
+            ChaoticDungeons.LOGGER.error("JigsawPlacementQueue: Failed to place piece {}.", piece, e);
+            return false;
+        }
+    }
+
+    /**
+     * Drops all queued placements. Called when the server stops.
+     */
+    public static void clear() {
+        TASKS.forEach(task -> task.done().complete(false));
+        TASKS.clear();
+        LAZY.clear();
+    }
+}
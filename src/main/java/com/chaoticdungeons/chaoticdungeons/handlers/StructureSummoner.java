@@ -3,24 +3,44 @@ package com.chaoticdungeons.chaoticdungeons.handlers;
 
 import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
 import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonData;
+import com.chaoticdungeons.chaoticdungeons.dungeons.ProcessedTemplate;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.Clearable;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.RandomizableContainerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlaceSettings;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplateManager;
+import net.minecraft.world.level.material.Fluids;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * Handles the loading and summoning of Minecraft structures (NBT files) into the world.
+ * Stateless; all methods are static.
  */
 public class StructureSummoner {
 
-    private final Random random = new Random();
+    // The template is already in a consistent state, so blocks are written without neighbour or shape updates;
+    // the ticks the written blocks still schedule are frozen by DungeonInstance until a player enters.
+    private static final int PLACE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+
+    private StructureSummoner() {
+    }
 
     /**
      * Summons a Minecraft structure (NBT file) into the given ServerLevel at the specified spawn position.
@@ -31,48 +51,175 @@ public class StructureSummoner {
      * @param dungeonData The DungeonData object containing the structure's resource location.
      * @return True if the structure was successfully summoned, false otherwise.
      */
-    public boolean summonStructure(ServerLevel level, BlockPos spawnPos, DungeonData dungeonData) {
+    public static boolean summonStructure(ServerLevel level, BlockPos spawnPos, DungeonData dungeonData) {
+        Optional<StructureTemplate> structureOptional = loadTemplate(level.getStructureManager(), dungeonData);
+        if (structureOptional.isEmpty()) {
+            return false;
+        }
+        // Rotation can be random for variety.
+        return summonStructure(level, spawnPos, dungeonData, structureOptional.get(), Rotation.getRandom(RandomSource.create()));
+    }
+
+    /**
+     * Places an already loaded structure template with a pre-chosen rotation.
+     * Used by the activation pipeline, which prepares the template off the server thread.
+     *
+     * @param level The ServerLevel to summon the structure in.
+     * @param spawnPos The BlockPos where the structure's origin (0,0,0) will be placed.
+     * @param dungeonData The DungeonData the template was loaded for (used for logging).
+     * @param structure The loaded StructureTemplate.
+     * @param rotation The rotation to place the structure with.
+     * @return True if the structure was successfully summoned, false otherwise.
+     */
+    public static boolean summonStructure(ServerLevel level, BlockPos spawnPos, DungeonData dungeonData, StructureTemplate structure, Rotation rotation) {
+        return summonStructure(level, spawnPos, dungeonData, structure, rotation, null);
+    }
+
+    /**
+     * Places an already loaded structure template with a pre-chosen rotation. If the activation pipeline already
+     * ran the dungeon's processors on a worker, only the processed blocks are written, skipping blocks the world
+     * already holds; templates without processors are written the same way. Otherwise the template's own
+     * placement runs the processors on the server thread and also places the template's entities.
+     *
+     * @param level The ServerLevel to summon the structure in.
+     * @param spawnPos The BlockPos where the structure's origin (0,0,0) will be placed.
+     * @param dungeonData The DungeonData the template was loaded for.
+     * @param structure The loaded StructureTemplate.
+     * @param rotation The rotation to place the structure with.
+     * @param processed The template's blocks with the dungeon's processors (if any) applied for this rotation, or null.
+     * @return True if the structure was successfully summoned, false otherwise.
+     */
+    public static boolean summonStructure(ServerLevel level, BlockPos spawnPos, DungeonData dungeonData, StructureTemplate structure, Rotation rotation,
+                                          @Nullable ProcessedTemplate processed) {
+        if (processed == null && dungeonData.processorList() == null) {
+            processed = ProcessedTemplate.rotated(structure, rotation);
+        }
+        if (processed != null) {
+            int skipped = placeProcessed(level, spawnPos, processed);
+            ChaoticDungeons.LOGGER.debug("StructureSummoner: Placed structure {} at {} with rotation {}, processors {} (variant {}); {} of {} block writes skipped as unchanged.",
+                    dungeonData.structure(), spawnPos, rotation, processed.getProcessors(), processed.getVariant(), skipped, processed.getBlocks().size());
+            return true;
+        }
+
+        // Dungeons placed this way are not pooled, so no DungeonInstance spawns their entities: the template places them
+        StructurePlaceSettings settings = createPlaceSettings(rotation).setIgnoreEntities(false);
+        ResourceLocation processors = dungeonData.processorList();
+        if (processors != null) {
+            level.registryAccess().registryOrThrow(Registries.PROCESSOR_LIST).getOptional(processors)
+                    .ifPresentOrElse(list -> list.list().forEach(settings::addProcessor),
+                            () -> ChaoticDungeons.LOGGER.error("StructureSummoner: Unknown processor list {} for {}.", processors, dungeonData.structure()));
+        }
+
+        // Place the structure.
+        boolean placed = structure.placeInWorld(level, spawnPos, spawnPos, settings, RandomSource.create(), PLACE_FLAGS);
+
+        if (!placed) {
+            ChaoticDungeons.LOGGER.error("StructureSummoner: Failed to place structure {} at {}.", dungeonData.structure(), spawnPos);
+        } else {
+            ChaoticDungeons.LOGGER.debug("StructureSummoner: Successfully placed structure {} at {} with rotation {}.", dungeonData.structure(), spawnPos, rotation);
+        }
+
+        return placed;
+    }
+
+    /**
+     * Writes processed blocks the way the template's own placement writes them, with the same update flags,
+     * but only where the world differs. Each target is compared against its chunk section's palette first;
+     * sections that hold only air are known to be empty without a lookup. Blocks that already match, and air
+     * written into air, are skipped, so they cost no write, no client update and no chunk save.
+     * Blocks with block entity data are always loaded: block entities at the target are cleared first,
+     * and container loot gets a fresh seed. Water sources at the target waterlog waterloggable blocks.
+     *
+     * @return The number of writes skipped.
+     */
+    private static int placeProcessed(ServerLevel level, BlockPos spawnPos, ProcessedTemplate processed) {
+        RandomSource random = RandomSource.create();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        LevelChunk chunk = null;
+        int skipped = 0;
+        for (StructureTemplate.StructureBlockInfo info : processed.getBlocks()) {
+            pos.setWithOffset(spawnPos, info.pos());
+            if (level.isOutsideBuildHeight(pos)) {
+                continue;
+            }
+            // Templates are stored in Y/Z/X order, so consecutive blocks mostly share a chunk
+            if (chunk == null || chunk.getPos().x != SectionPos.blockToSectionCoord(pos.getX()) || chunk.getPos().z != SectionPos.blockToSectionCoord(pos.getZ())) {
+                chunk = level.getChunkAt(pos);
+            }
+            LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(pos.getY()));
+            BlockState existing = section.hasOnlyAir()
+                    ? Blocks.AIR.defaultBlockState()
+                    : section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+
+            BlockState state = info.state();
+            if (existing.getFluidState().is(Fluids.WATER) && state.hasProperty(BlockStateProperties.WATERLOGGED)) {
+                state = state.setValue(BlockStateProperties.WATERLOGGED, true);
+            }
+            boolean unchanged = existing == state || (existing.isAir() && state.isAir());
+            if (unchanged && info.nbt() == null) {
+                skipped++;
+                continue;
+            }
+
+            if (info.nbt() != null) {
+                Clearable.tryClear(level.getBlockEntity(pos));
+            }
+            if (!unchanged) {
+                level.setBlock(pos, state, PLACE_FLAGS);
+            } else {
+                skipped++;
+            }
+            if (info.nbt() != null) {
+                BlockEntity blockEntity = level.getBlockEntity(pos);
+                if (blockEntity != null) {
+                    CompoundTag tag = info.nbt().copy(); // The processed list is shared between placements
+                    if (blockEntity instanceof RandomizableContainerBlockEntity) {
+                        tag.putLong("LootTableSeed", random.nextLong());
+                    }
+                    blockEntity.load(tag);
+                    blockEntity.setChanged();
+                }
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Loads the structure template referenced by the given DungeonData.
+     * Does not touch the level, so it may be called from a worker thread.
+     *
+     * @param templateManager The level's StructureTemplateManager.
+     * @param dungeonData The DungeonData object containing the structure's resource location.
+     * @return An Optional containing the template, or empty if it is missing or not referenced.
+     */
+    public static Optional<StructureTemplate> loadTemplate(StructureTemplateManager templateManager, DungeonData dungeonData) {
         if (dungeonData.structure() == null || dungeonData.structure().isEmpty()) {
             ChaoticDungeons.LOGGER.error("StructureSummoner: DungeonData for summoning is missing a structure path.");
-            return false;
+            return Optional.empty();
         }
 
         ResourceLocation structureLocation = new ResourceLocation(dungeonData.structure());
-        StructureTemplateManager templateManager = level.getStructureManager();
-
         Optional<StructureTemplate> structureOptional = templateManager.get(structureLocation);
 
         if (structureOptional.isEmpty()) {
             ChaoticDungeons.LOGGER.error("StructureSummoner: Failed to load structure template: {}. Ensure the .nbt file exists in 'data/{}/structures/'", structureLocation, structureLocation.getNamespace());
-            return false;
         }
+        return structureOptional;
+    }
 
-        StructureTemplate structure = structureOptional.get();
-
-        // Define placement settings.
-        // Rotation can be random for variety.
-        Rotation rotation = Rotation.getRandom(RandomSource.create());
+    /**
+     * Builds the placement settings used for every summoned dungeon.
+     *
+     * @param rotation The rotation to place the structure with.
+     * @return The StructurePlaceSettings for placement.
+     */
+    public static StructurePlaceSettings createPlaceSettings(Rotation rotation) {
         // Mirroring can also be random.
         // Mirror mirror = Mirror.values()[random.nextInt(Mirror.values().length)];
-
-        StructurePlaceSettings settings = new StructurePlaceSettings()
+        return new StructurePlaceSettings()
                 .setRotation(rotation)
                 // .setMirror(mirror) // Uncomment if mirroring is desired
-                .setIgnoreEntities(false) // Whether to include entities defined in the structure
-                .setKnownShape(false); // Optimization, set to true if you know the structure's shape and collisions will be handled elsewhere.
-
-        // Place the structure.
-        // The `true` argument means 'do not add entities from the structure directly'.
-        // If you want entities from your structure NBT (e.g., spawners), set it to `false`.
-        // The default `place` method is often sufficient.
-        boolean placed = structure.placeInWorld(level, spawnPos, spawnPos, settings, RandomSource.create(), 2);
-
-        if (!placed) {
-            ChaoticDungeons.LOGGER.error("StructureSummoner: Failed to place structure {} at {}.", structureLocation, spawnPos);
-        } else {
-            ChaoticDungeons.LOGGER.info("StructureSummoner: Successfully placed structure {} at {} with rotation {}.", structureLocation, spawnPos, rotation);
-        }
-
-        return placed;
+                .setIgnoreEntities(true) // Template entities are spawned room by room as players approach, see DungeonInstance
+                .setKnownShape(true); // Skips the shape and neighbour update pass after placement; the template's states already fit together
     }
 }
\ No newline at end of file
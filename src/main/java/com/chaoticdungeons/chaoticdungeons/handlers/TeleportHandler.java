@@ -10,77 +10,183 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.phys.Vec3;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Handles teleportation of players into generated dungeons.
  * It attempts to find a safe and suitable teleportation point within the dungeon's boundaries.
+ * Stateless: every method takes the dungeon origin (the BlockPos where the dungeon structure was placed).
  */
 public class TeleportHandler {
 
-    private final BlockPos dungeonOrigin; // The BlockPos where the dungeon structure was placed.
+    private TeleportHandler() {
+    }
 
     /**
-     * Constructor for TeleportHandler.
+     * Handles teleporting a player to a safe spot within the generated dungeon.
+     * It iterates through a small area around the dungeon origin to find a clear 2-block high space.
      *
-     * @param dungeonOrigin The BlockPos representing the origin point of the generated dungeon structure.
+     * @param player The ServerPlayer to teleport.
+     * @param level The ServerLevel where the dungeon is located.
+     * @param dungeonOrigin The origin point of the generated dungeon structure.
      */
-    public TeleportHandler(BlockPos dungeonOrigin) {
-        this.dungeonOrigin = dungeonOrigin;
+    public static void handleTeleport(ServerPlayer player, ServerLevel level, BlockPos dungeonOrigin) {
+        handleTeleport(player, level, dungeonOrigin, List.of());
     }
 
     /**
-     * Handles teleporting a player to a safe spot within the generated dungeon.
-     * It iterates through a small area around the dungeon origin to find a clear 2-block high space.
+     * Handles teleporting a player, preferring pre-computed anchors over the generic search.
+     * Anchors come from the dungeon template and are only re-validated against the world here,
+     * which costs three block reads each instead of a full scan.
      *
      * @param player The ServerPlayer to teleport.
      * @param level The ServerLevel where the dungeon is located.
+     * @param dungeonOrigin The origin point of the generated dungeon structure.
+     * @param anchors Candidate standing positions in world coordinates, best first. May be empty.
+     */
+    public static void handleTeleport(ServerPlayer player, ServerLevel level, BlockPos dungeonOrigin, List<BlockPos> anchors) {
+        handleGroupTeleport(List.of(player), level, dungeonOrigin, anchors);
+    }
+
+    /**
+     * Loads the chunks around the dungeon origin, then teleports the group on the server thread,
+     * so that players arrive in fully loaded chunks instead of waiting for them on the client.
+     * If the warm-up fails, the error is logged and the group is teleported anyway.
+     *
+     * @param players The players to teleport; the first one is the activating player.
+     * @param level The ServerLevel where the dungeon is located.
+     * @param dungeonOrigin The origin point of the generated dungeon structure.
+     * @param anchors Candidate standing positions in world coordinates, best first. May be empty.
+     * @return A future completing on the server thread once the group has been teleported.
+     */
+    public static CompletableFuture<Void> warmUpAndTeleport(List<ServerPlayer> players, ServerLevel level, BlockPos dungeonOrigin, List<BlockPos> anchors) {
+        return DungeonChunkTickets.warmUp(level, dungeonOrigin)
+                .handleAsync((ignored, error) -> {
+                    if (error != null) {
+                        ChaoticDungeons.LOGGER.error("Warming up the chunks around dungeon origin {} failed; teleporting anyway.", dungeonOrigin, error);
+                    }
+                    handleGroupTeleport(players.stream().filter(player -> !player.isRemoved()).toList(), level, dungeonOrigin, anchors);
+                    return null;
+                }, level.getServer());
+    }
+
+    /**
+     * Teleports a group of players into the dungeon in the same tick, each onto their own safe spot.
+     * The spots for the whole group are found in one search instead of one search per player.
+     * If the dungeon has fewer safe spots than players, spots are shared round-robin.
+     *
+     * @param players The players to teleport; the first one is the activating player.
+     * @param level The ServerLevel where the dungeon is located.
+     * @param dungeonOrigin The origin point of the generated dungeon structure.
+     * @param anchors Candidate standing positions in world coordinates, best first. May be empty.
+     */
+    public static void handleGroupTeleport(List<ServerPlayer> players, ServerLevel level, BlockPos dungeonOrigin, List<BlockPos> anchors) {
+        if (players.isEmpty()) {
+            return;
+        }
+        ChaoticDungeons.LOGGER.debug("Attempting to teleport {} player(s) to dungeon at origin {}.", players.size(), dungeonOrigin);
+
+        List<BlockPos> safeSpots = findSafeSpots(level, dungeonOrigin, anchors, players.size());
+
+        if (safeSpots.isEmpty()) {
+            ChaoticDungeons.LOGGER.warn("Could not find a perfect safe teleport spot for {} player(s) at dungeon origin {}. Teleporting to origin directly.", players.size(), dungeonOrigin);
+            // Fallback: Teleport to the origin block, might place them inside a block or liquid
+            for (ServerPlayer player : players) {
+                player.teleportTo(level, dungeonOrigin.getX() + 0.5, dungeonOrigin.getY(), dungeonOrigin.getZ() + 0.5, player.getYRot(), player.getXRot());
+            }
+            return;
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            ServerPlayer player = players.get(i);
+            BlockPos safeTeleportPos = safeSpots.get(i % safeSpots.size());
+            // Teleport the player. Use teleportTo for safe teleportation.
+            player.teleportTo(level, safeTeleportPos.getX() + 0.5, safeTeleportPos.getY(), safeTeleportPos.getZ() + 0.5, player.getYRot(), player.getXRot());
+            ChaoticDungeons.LOGGER.debug("Player {} successfully teleported to safe spot: {}", player.getScoreboardName(), safeTeleportPos);
+        }
+    }
+
+    /**
+     * Finds up to {@code count} distinct safe standing positions in the dungeon.
+     * Template anchors are checked first. The remaining spots come from a single sweep over a small
+     * cube around the origin: each column is walked bottom-up keeping the last three block states,
+     * so every block is read once, and the sweep stops as soon as enough spots are found.
+     *
+     * @param level The ServerLevel where the dungeon is located.
+     * @param dungeonOrigin The origin point of the generated dungeon structure.
+     * @param anchors Candidate standing positions in world coordinates, best first. May be empty.
+     * @param count The number of spots wanted.
+     * @return Up to {@code count} distinct safe positions, best first.
      */
-    public void handleTeleport(ServerPlayer player, ServerLevel level) {
-        ChaoticDungeons.LOGGER.info("Attempting to teleport player {} to dungeon at origin {}.", player.getName().getString(), dungeonOrigin);
+    public static List<BlockPos> findSafeSpots(ServerLevel level, BlockPos dungeonOrigin, List<BlockPos> anchors, int count) {
+        Set<BlockPos> safeSpots = new LinkedHashSet<>();
+        for (BlockPos anchor : anchors) {
+            if (safeSpots.size() >= count) {
+                return new ArrayList<>(safeSpots);
+            }
+            if (isSafeSpot(level, anchor)) {
+                safeSpots.add(anchor);
+            }
+        }
 
-        // Define a search area around the dungeon origin to find a safe spot
+        // Define a search area around the dungeon origin to find safe spots
         // A common practice is to place a specific "spawn" block in your structure and teleport to that.
         // For this generic case, we'll search.
         int searchRadius = 5; // Search 5 blocks around the origin
-        BlockPos safeTeleportPos = null;
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
 
-        // Iterate through a small cube around the dungeon origin to find a safe spot
         for (int x = -searchRadius; x <= searchRadius; x++) {
-            for (int y = 0; y <= searchRadius; y++) { // Search upwards from origin
-                for (int z = -searchRadius; z <= searchRadius; z++) {
-                    BlockPos candidatePos = dungeonOrigin.offset(x, y, z);
-
-                    // Check if the two blocks above the candidate position are air or replaceable
-                    BlockState lowerBlock = level.getBlockState(candidatePos);
-                    BlockState upperBlock = level.getBlockState(candidatePos.above());
-                    BlockState groundBlock = level.getBlockState(candidatePos.below());
-
-                    // A "safe" spot means:
-                    // 1. The two blocks at candidatePos and candidatePos.above() are air or replaceable.
-                    // 2. The ground block below is solid (something to stand on).
-                    // 3. No fluid at the player's head or foot level.
-                    if ((lowerBlock.isAir() || lowerBlock.canBeReplaced()) &&
-                            (upperBlock.isAir() || upperBlock.canBeReplaced()) &&
-                            groundBlock.isSolid() && // FIX: Changed isSolidBlocking() to isSolid()
-                            !lowerBlock.getFluidState().is(Fluids.WATER) && // Not in water
-                            !lowerBlock.getFluidState().is(Fluids.LAVA)
-                    ) {
-                        safeTeleportPos = candidatePos;
-                        break;
+            for (int z = -searchRadius; z <= searchRadius; z++) {
+                BlockState groundBlock = level.getBlockState(cursor.setWithOffset(dungeonOrigin, x, -1, z));
+                BlockState lowerBlock = level.getBlockState(cursor.setWithOffset(dungeonOrigin, x, 0, z));
+                for (int y = 0; y <= searchRadius; y++) { // Search upwards from origin
+                    BlockState upperBlock = level.getBlockState(cursor.setWithOffset(dungeonOrigin, x, y + 1, z));
+                    if (safeSpots.size() < count && isSafeSpot(groundBlock, lowerBlock, upperBlock)) {
+                        safeSpots.add(dungeonOrigin.offset(x, y, z));
+                        if (safeSpots.size() >= count) {
+                            return new ArrayList<>(safeSpots);
+                        }
                     }
+                    groundBlock = lowerBlock;
+                    lowerBlock = upperBlock;
                 }
-                if (safeTeleportPos != null) break;
             }
-            if (safeTeleportPos != null) break;
         }
+        return new ArrayList<>(safeSpots);
+    }
 
-        if (safeTeleportPos != null) {
-            // Teleport the player. Use teleportTo for safe teleportation.
-            player.teleportTo(level, safeTeleportPos.getX() + 0.5, safeTeleportPos.getY(), safeTeleportPos.getZ() + 0.5, player.getYRot(), player.getXRot());
-            ChaoticDungeons.LOGGER.info("Player {} successfully teleported to safe spot: {}", player.getName().getString(), safeTeleportPos);
-        } else {
-            ChaoticDungeons.LOGGER.warn("Could not find a perfect safe teleport spot for player {} at dungeon origin {}. Teleporting to origin directly.", player.getName().getString(), dungeonOrigin);
-            // Fallback: Teleport to the origin block, might place them inside a block or liquid
-            player.teleportTo(level, dungeonOrigin.getX() + 0.5, dungeonOrigin.getY(), dungeonOrigin.getZ() + 0.5, player.getYRot(), player.getXRot());
-        }
+    /**
+     * Checks whether a player can safely stand at the given position.
+     *
+     * @param level The ServerLevel to check in.
+     * @param candidatePos The position of the player's feet.
+     * @return True if the spot is safe, false otherwise.
+     */
+    private static boolean isSafeSpot(ServerLevel level, BlockPos candidatePos) {
+        // Check if the two blocks above the candidate position are air or replaceable
+        BlockState lowerBlock = level.getBlockState(candidatePos);
+        BlockState upperBlock = level.getBlockState(candidatePos.above());
+        BlockState groundBlock = level.getBlockState(candidatePos.below());
+        return isSafeSpot(groundBlock, lowerBlock, upperBlock);
+    }
+
+    /**
+     * Checks whether a player can safely stand on {@code groundBlock} with {@code lowerBlock} at their feet
+     * and {@code upperBlock} at their head.
+     */
+    private static boolean isSafeSpot(BlockState groundBlock, BlockState lowerBlock, BlockState upperBlock) {
+        // A "safe" spot means:
+        // 1. The two blocks at candidatePos and candidatePos.above() are air or replaceable.
+        // 2. The ground block below is solid (something to stand on).
+        // 3. No fluid at the player's head or foot level.
+        return (lowerBlock.isAir() || lowerBlock.canBeReplaced()) &&
+                (upperBlock.isAir() || upperBlock.canBeReplaced()) &&
+                groundBlock.isSolid() && // FIX: Changed isSolidBlocking() to isSolid()
+                !lowerBlock.getFluidState().is(Fluids.WATER) && // Not in water
+                !lowerBlock.getFluidState().is(Fluids.LAVA);
     }
 }
\ No newline at end of file
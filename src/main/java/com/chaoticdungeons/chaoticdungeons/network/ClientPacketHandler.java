@@ -0,0 +1,57 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/network/ClientPacketHandler.java
+package com.chaoticdungeons.chaoticdungeons.network;
+
+import com.chaoticdungeons.chaoticdungeons.blockentities.GateBlockEntity;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.util.RandomSource;
+
+/**
+ * Client-only packet handling. Kept in its own class so dedicated servers never load client classes.
+ */
+public class ClientPacketHandler {
+
+    /**
+     * Applies a gate state update to the client-side gate block entity, if its chunk is loaded.
+     *
+     * @param packet The received GateStatePacket.
+     */
+    public static void handleGateState(GateStatePacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level != null && level.isLoaded(packet.pos()) && level.getBlockEntity(packet.pos()) instanceof GateBlockEntity gate) {
+            gate.applyClientState(packet.active(), packet.structureId(), packet.expiryGameTime());
+        }
+    }
+
+    /**
+     * Plays the effects of a batch of expired gates.
+     *
+     * @param packet The received GateExpiryEffectsPacket.
+     */
+    public static void handleGateExpiryEffects(GateExpiryEffectsPacket packet) {
+        ClientLevel level = Minecraft.getInstance().level;
+        if (level == null) {
+            return;
+        }
+        RandomSource random = level.getRandom();
+        for (BlockPos pos : packet.positions()) {
+            double x = pos.getX() + 0.5;
+            double y = pos.getY() + 0.5;
+            double z = pos.getZ() + 0.5;
+            if (packet.style() == GateExpiryEffectsPacket.Style.COLLAPSE) {
+                for (int i = 0; i < 12; i++) {
+                    level.addParticle(ParticleTypes.LARGE_SMOKE, x + random.nextGaussian() * 0.3, y + random.nextGaussian() * 0.3, z + random.nextGaussian() * 0.3, 0.0, 0.02, 0.0);
+                }
+                level.playLocalSound(x, y, z, SoundEvents.DEEPSLATE_BREAK, SoundSource.BLOCKS, 1.0F, 0.6F, false);
+            } else {
+                for (int i = 0; i < 20; i++) {
+                    level.addParticle(ParticleTypes.REVERSE_PORTAL, x + random.nextGaussian() * 0.3, y + random.nextGaussian() * 0.3, z + random.nextGaussian() * 0.3, 0.0, 0.05, 0.0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/network/GateExpiryEffectsPacket.java
+package com.chaoticdungeons.chaoticdungeons.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Server-to-client effects for a batch of gates that expired in the same tick.
+ * One packet carries every gate the receiving player is close to; the client plays the particles and
+ * sounds itself instead of receiving a particle and a sound packet per gate.
+ *
+ * @param style How the gates went away.
+ * @param positions The positions of the expired gates.
+ */
+public record GateExpiryEffectsPacket(Style style, List<BlockPos> positions) {
+
+    /**
+     * The visual style of a non-explosive expiry.
+     */
+    public enum Style {
+        COLLAPSE, DESPAWN
+    }
+
+    public static void encode(GateExpiryEffectsPacket packet, FriendlyByteBuf buf) {
+        buf.writeEnum(packet.style);
+        buf.writeCollection(packet.positions, FriendlyByteBuf::writeBlockPos);
+    }
+
+    public static GateExpiryEffectsPacket decode(FriendlyByteBuf buf) {
+        return new GateExpiryEffectsPacket(buf.readEnum(Style.class), buf.readList(FriendlyByteBuf::readBlockPos));
+    }
+
+    public static void handle(GateExpiryEffectsPacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleGateExpiryEffects(packet));
+        context.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,40 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/network/GateStatePacket.java
+package com.chaoticdungeons.chaoticdungeons.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * Server-to-client sync of a gate's visible state.
+ * Carries only what clients need to render a gate: whether it is active, a numeric id of its dungeon
+ * structure and the absolute game time at which it expires. Clients run the countdown themselves,
+ * so the packet is sent only when the state changes.
+ *
+ * @param pos The gate's position.
+ * @param active Whether the gate is active.
+ * @param structureId The numeric id of the gate's dungeon structure, 0 if none.
+ * @param expiryGameTime The game time at which the gate expires.
+ */
+public record GateStatePacket(BlockPos pos, boolean active, int structureId, long expiryGameTime) {
+
+    public static void encode(GateStatePacket packet, FriendlyByteBuf buf) {
+        buf.writeBlockPos(packet.pos);
+        buf.writeBoolean(packet.active);
+        buf.writeVarInt(packet.structureId);
+        buf.writeVarLong(packet.expiryGameTime);
+    }
+
+    public static GateStatePacket decode(FriendlyByteBuf buf) {
+        return new GateStatePacket(buf.readBlockPos(), buf.readBoolean(), buf.readVarInt(), buf.readVarLong());
+    }
+
+    public static void handle(GateStatePacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientPacketHandler.handleGateState(packet));
+        context.get().setPacketHandled(true);
+    }
+}
@@ -0,0 +1,68 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/network/ModNetwork.java
+package com.chaoticdungeons.chaoticdungeons.network;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * The mod's network channel and its message registrations.
+ */
+public class ModNetwork {
+
+    private static final String PROTOCOL_VERSION = "1";
+
+    /**
+     * The channel all Chaotic Dungeons packets are sent through.
+     */
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            new ResourceLocation(ChaoticDungeons.MOD_ID, "main"),
+            () -> PROTOCOL_VERSION,
+            PROTOCOL_VERSION::equals,
+            PROTOCOL_VERSION::equals);
+
+    /**
+     * Registers all messages on the channel. Called once during common setup.
+     */
+    public static void register() {
+        int id = 0;
+        CHANNEL.messageBuilder(GateStatePacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(GateStatePacket::encode)
+                .decoder(GateStatePacket::decode)
+                .consumerMainThread(GateStatePacket::handle)
+                .add();
+        CHANNEL.messageBuilder(GateExpiryEffectsPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(GateExpiryEffectsPacket::encode)
+                .decoder(GateExpiryEffectsPacket::decode)
+                .consumerMainThread(GateExpiryEffectsPacket::handle)
+                .add();
+        ChaoticDungeons.LOGGER.debug("ModNetwork: Registered {} message types.", id);
+    }
+
+    /**
+     * Sends a packet to every client that is tracking the chunk containing the given position.
+     *
+     * @param level The ServerLevel the position is in.
+     * @param pos The position whose chunk watchers should receive the packet.
+     * @param packet The packet to send.
+     */
+    public static void sendToTracking(ServerLevel level, BlockPos pos, Object packet) {
+        CHANNEL.send(PacketDistributor.TRACKING_CHUNK.with(() -> level.getChunkAt(pos)), packet);
+    }
+
+    /**
+     * Sends a packet to a single player.
+     *
+     * @param player The receiving player.
+     * @param packet The packet to send.
+     */
+    public static void sendToPlayer(ServerPlayer player, Object packet) {
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), packet);
+    }
+}
@@ -15,6 +15,9 @@ import java.util.stream.Collectors;
  */
 public class DungeonSelector {
 
+    private DungeonSelector() {
+    }
+
     /**
      * Selects a list of DungeonData objects that match the given type and minimum difficulty.
      *
@@ -22,7 +25,7 @@ public class DungeonSelector {
      * @param minimumDifficulty The minimum difficulty required for the dungeon.
      * @return A list of DungeonData objects matching the criteria. Returns an empty list if none are found.
      */
-    public List<DungeonData> selectDungeons(String type, int minimumDifficulty) {
+    public static List<DungeonData> selectDungeons(String type, int minimumDifficulty) {
         if (type == null || type.isEmpty()) {
             ChaoticDungeons.LOGGER.warn("DungeonSelector: Attempted to select dungeons with null or empty type.");
             return Collections.emptyList();
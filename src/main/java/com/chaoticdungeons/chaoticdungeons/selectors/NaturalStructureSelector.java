@@ -0,0 +1,149 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/NaturalStructureSelector.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonData;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.StructureManager;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.StructureCheckResult;
+import net.minecraft.world.level.levelgen.structure.StructureStart;
+import net.minecraft.world.level.levelgen.structure.placement.ConcentricRingsStructurePlacement;
+import net.minecraft.world.level.levelgen.structure.placement.RandomSpreadStructurePlacement;
+import net.minecraft.world.level.levelgen.structure.placement.StructurePlacement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds naturally generated structures to use as dungeons ("natural" layout), so that an activation places nothing.
+ * Candidate start chunks come from the structure's placement rules; each one is checked with the structure
+ * manager's start lookup, nearest to the gate first, and the first start that no dungeon uses yet is claimed.
+ * Claimed starts are recorded like any other dungeon site, so they are never handed out twice.
+ * Runs on the server thread: the start lookup may load chunks up to the structure-starts status.
+ */
+public class NaturalStructureSelector {
+
+    private static final int MAX_SEARCH_RADIUS = 2048; // Blocks from the gate
+    private static final int MAX_START_LOADS = 16; // Chunks loaded to read their structure starts, per lookup
+
+    private NaturalStructureSelector() {
+    }
+
+    /**
+     * A claimed natural structure.
+     *
+     * @param key The claimed position: the corner of the structure's start chunk, at Y 0.
+     * @param entrance Where players arrive: on the floor of the start piece, at its centre.
+     * @param bounds The bounds of the whole structure.
+     */
+    public record NaturalSite(BlockPos key, BlockPos entrance, BoundingBox bounds) {
+    }
+
+    /**
+     * Looks up and claims the nearest unclaimed start of the dungeon's structure around the given position.
+     *
+     * @param level The ServerLevel to search.
+     * @param dungeon The dungeon; its layout must be "natural".
+     * @param origin The centre of the search, usually the gate.
+     * @return The claimed structure, or empty if the structure is unknown or has no unclaimed start in range.
+     */
+    public static Optional<NaturalSite> claimNearest(ServerLevel level, DungeonData dungeon, BlockPos origin) {
+        ResourceLocation id = ResourceLocation.tryParse(dungeon.structure());
+        Optional<Holder.Reference<Structure>> structure = id == null
+                ? Optional.empty()
+                : level.registryAccess().registryOrThrow(Registries.STRUCTURE).getHolder(ResourceKey.create(Registries.STRUCTURE, id));
+        if (structure.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("NaturalStructureSelector: Unknown structure {}.", dungeon.structure());
+            return Optional.empty();
+        }
+
+        ChunkGeneratorStructureState state = level.getChunkSource().getGeneratorState();
+        ChunkPos originChunk = new ChunkPos(origin);
+        List<ChunkPos> candidates = new ArrayList<>();
+        for (StructurePlacement placement : state.getPlacementsForStructure(structure.get())) {
+            collectCandidates(state, placement, originChunk, candidates);
+        }
+        candidates.sort(Comparator.comparingLong(chunkPos -> {
+            long dx = chunkPos.x - originChunk.x;
+            long dz = chunkPos.z - originChunk.z;
+            return dx * dx + dz * dz;
+        }));
+
+        StructureManager structureManager = level.structureManager();
+        int loads = 0;
+        for (ChunkPos chunkPos : candidates) {
+            BlockPos key = chunkPos.getWorldPosition();
+            if (PositionSelector.isClaimed(level, key)) {
+                continue;
+            }
+            StructureCheckResult presence = structureManager.checkStructurePresence(chunkPos, structure.get().value(), false);
+            if (presence == StructureCheckResult.START_NOT_PRESENT) {
+                continue;
+            }
+            if (loads++ >= MAX_START_LOADS) {
+                ChaoticDungeons.LOGGER.debug("NaturalStructureSelector: Gave up on {} after {} start lookups.", id, MAX_START_LOADS);
+                break;
+            }
+            ChunkAccess chunk = level.getChunk(chunkPos.x, chunkPos.z, ChunkStatus.STRUCTURE_STARTS);
+            StructureStart start = structureManager.getStartForStructure(SectionPos.bottomOf(chunk), structure.get().value(), chunk);
+            if (start == null || !start.isValid() || !PositionSelector.claimNaturalStructure(level, key)) {
+                continue;
+            }
+            BoundingBox startBox = start.getPieces().get(0).getBoundingBox();
+            BlockPos entrance = new BlockPos(startBox.getCenter().getX(), startBox.minY() + 1, startBox.getCenter().getZ());
+            ChaoticDungeons.LOGGER.debug("NaturalStructureSelector: Claimed natural {} at {}.", id, chunkPos);
+            return Optional.of(new NaturalSite(key, entrance, start.getBoundingBox()));
+        }
+        ChaoticDungeons.LOGGER.debug("NaturalStructureSelector: No unclaimed start of {} within {} blocks of {}.", id, MAX_SEARCH_RADIUS, origin);
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the chunks within range where the placement may start the structure.
+     * Only the placement's own rules (spread, frequency, exclusion zones) are applied here; biomes are left to the start lookup.
+     */
+    private static void collectCandidates(ChunkGeneratorStructureState state, StructurePlacement placement, ChunkPos originChunk, List<ChunkPos> candidates) {
+        int radiusChunks = SectionPos.blockToSectionCoord(MAX_SEARCH_RADIUS);
+        if (placement instanceof RandomSpreadStructurePlacement spread) {
+            int spacing = spread.spacing();
+            int regionRadius = Math.max(1, radiusChunks / spacing);
+            int originRegionX = Math.floorDiv(originChunk.x, spacing);
+            int originRegionZ = Math.floorDiv(originChunk.z, spacing);
+            for (int regionX = originRegionX - regionRadius; regionX <= originRegionX + regionRadius; regionX++) {
+                for (int regionZ = originRegionZ - regionRadius; regionZ <= originRegionZ + regionRadius; regionZ++) {
+                    ChunkPos chunkPos = spread.getPotentialStructureChunk(state.getLevelSeed(), regionX * spacing, regionZ * spacing);
+                    if (isInRange(chunkPos, originChunk, radiusChunks) && spread.isStructureChunk(state, chunkPos.x, chunkPos.z)) {
+                        candidates.add(chunkPos);
+                    }
+                }
+            }
+        } else if (placement instanceof ConcentricRingsStructurePlacement rings) {
+            List<ChunkPos> positions = state.getRingPositionsFor(rings);
+            if (positions != null) {
+                for (ChunkPos chunkPos : positions) {
+                    if (isInRange(chunkPos, originChunk, radiusChunks)) {
+                        candidates.add(chunkPos);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isInRange(ChunkPos chunkPos, ChunkPos originChunk, int radiusChunks) {
+        return Math.abs(chunkPos.x - originChunk.x) <= radiusChunks && Math.abs(chunkPos.z - originChunk.z) <= radiusChunks;
+    }
+}
@@ -5,22 +5,22 @@ import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
 import com.chaoticdungeons.chaoticdungeons.capabilities.DungeonGenerationTracker;
 import com.chaoticdungeons.chaoticdungeons.capabilities.DungeonGenerationTrackerProvider;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.chunk.ChunkGenerator;
-import net.minecraft.world.level.levelgen.Heightmap;
-import net.minecraft.world.level.levelgen.WorldGenSettings;
-import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
-import net.minecraft.world.level.material.Fluids;
 import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
-import net.minecraftforge.event.level.LevelEvent;
-import net.minecraftforge.eventbus.api.SubscribeEvent;
-import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Utility class for selecting suitable positions for dungeon generation.
@@ -29,17 +29,23 @@ import java.util.Random;
  */
 public class PositionSelector {
 
-    private static final int MIN_DISTANCE_BETWEEN_DUNGEONS = 500; // Blocks
-    private static final int MAX_ATTEMPTS = 50; // Max attempts to find a suitable position
-    private static final int SEARCH_RADIUS_AROUND_SPAWN = 20000; // Search radius for initial spawn points (large to ensure variety)
+    static final int MIN_DISTANCE_BETWEEN_DUNGEONS = 500; // Blocks
+    private static final int PARALLEL_BATCHES = 4; // Candidates are evaluated in up to this many parallel batches
+    private static final int MIN_BATCH_SIZE = 8;
 
-    private final Random random = new Random();
+    private PositionSelector() {
+    }
 
     /**
-     * Constructor. Registers event listeners for capability handling.
+     * Registers the capability listeners. Called once from the mod constructor; the selector itself is
+     * stateless and never registered, so activations cannot add listeners.
+     *
+     * @param modEventBus The mod event bus.
+     * @param forgeEventBus The Forge (game) event bus.
      */
-    public PositionSelector() {
-        MinecraftForge.EVENT_BUS.register(this);
+    public static void register(IEventBus modEventBus, IEventBus forgeEventBus) {
+        modEventBus.addListener(PositionSelector::registerCapabilities);
+        forgeEventBus.addGenericListener(Level.class, PositionSelector::onAttachCapabilitiesEvent);
     }
 
     /**
@@ -48,8 +54,7 @@ public class PositionSelector {
      *
      * @param event The RegisterCapabilitiesEvent.
      */
-    @SubscribeEvent
-    public static void registerCapabilities(RegisterCapabilitiesEvent event) {
+    private static void registerCapabilities(RegisterCapabilitiesEvent event) {
         event.register(DungeonGenerationTracker.class);
         ChaoticDungeons.LOGGER.debug("Registered DungeonGenerationTracker capability.");
     }
@@ -60,8 +65,7 @@ public class PositionSelector {
      *
      * @param event The AttachCapabilitiesEvent for a Level.
      */
-    @SubscribeEvent
-    public void onAttachCapabilitiesEvent(AttachCapabilitiesEvent<Level> event) {
+    private static void onAttachCapabilitiesEvent(AttachCapabilitiesEvent<Level> event) {
         if (event.getObject() instanceof ServerLevel) { // Only attach to server-side levels
             if (!event.getObject().getCapability(DungeonGenerationTrackerProvider.DUNGEON_GENERATION_TRACKER_CAPABILITY).isPresent()) {
                 event.addCapability(DungeonGenerationTrackerProvider.IDENTIFIER, new DungeonGenerationTrackerProvider());
@@ -71,66 +75,167 @@ public class PositionSelector {
     }
 
     /**
-     * Event listener for Level save events. Ensures the capability data is saved.
+     * Draws candidate dungeon columns from the search annulus around the spawn point and rejects those
+     * that are too close to an existing dungeon. This stage never touches the level, so it can run on a
+     * worker thread against a snapshot of the tracker.
+     * Only X and Z are known at this point; since the Manhattan distance on X/Z alone never exceeds the
+     * full distance, every candidate returned here also passes the final check once its height is known.
      *
-     * @param event The LevelEvent.Save event.
+     * @param spawnPoint The level's shared spawn position, used as the centre of the search.
+     * @param existingDungeons A snapshot of the already generated dungeon positions.
+     * @param controller The level's search controller, which receives the acceptance statistics.
+     * @param parameters The search parameters from the controller.
+     * @param random The random source to draw candidates from.
+     * @return Up to {@code parameters.maxProbes()} candidate positions (Y is 0), in the order they were drawn.
      */
-    @SubscribeEvent
-    public void onLevelSave(LevelEvent.Save event) {
-        if (event.getLevel() instanceof ServerLevel serverLevel) {
-            serverLevel.getCapability(DungeonGenerationTrackerProvider.DUNGEON_GENERATION_TRACKER_CAPABILITY).ifPresent(tracker -> {
-                // The capability's NBT handler should manage saving. No explicit call needed here
-                // other than ensuring the capability object is marked as 'dirty' if its state changes.
-                // The `saveAdditional` method in the capability's storage will be called by Forge.
-                ChaoticDungeons.LOGGER.debug("Saving DungeonGenerationTracker data for level {}.", serverLevel.dimension().location());
-            });
+    public static List<BlockPos> proposeCandidates(BlockPos spawnPoint, Collection<BlockPos> existingDungeons, SearchController controller,
+                                                   SearchController.SearchParameters parameters, Random random) {
+        List<BlockPos> candidates = new ArrayList<>();
+        double innerSqr = (double) parameters.innerRadius() * parameters.innerRadius();
+        double outerSqr = (double) parameters.outerRadius() * parameters.outerRadius();
+        int drawn = 0;
+        while (drawn < parameters.proposals() && candidates.size() < parameters.maxProbes()) {
+            drawn++;
+            // Uniform over the annulus area: the squared radius is uniform between the two edges
+            double radius = Math.sqrt(innerSqr + random.nextDouble() * (outerSqr - innerSqr));
+            double angle = random.nextDouble() * Math.PI * 2.0D;
+            int x = spawnPoint.getX() + (int) Math.round(radius * Math.cos(angle));
+            int z = spawnPoint.getZ() + (int) Math.round(radius * Math.sin(angle));
+
+            if (isSpacedFrom(existingDungeons, x, z)) {
+                candidates.add(new BlockPos(x, 0, z));
+            }
         }
+        controller.recordProposals(drawn, candidates.size());
+        return candidates;
     }
 
     /**
-     * Selects a suitable BlockPos for dungeon generation in the given level.
-     * The position is chosen to be at least MIN_DISTANCE_BETWEEN_DUNGEONS away from any
-     * previously generated dungeon and a safe spot on the surface.
+     * Checks whether a column is at least MIN_DISTANCE_BETWEEN_DUNGEONS away from every given dungeon on X/Z.
      *
-     * @param level The ServerLevel to select a position in.
-     * @return An Optional containing the BlockPos if a suitable position is found, otherwise empty.
+     * @param existingDungeons The dungeon positions to check against.
+     * @param x The column's X coordinate.
+     * @param z The column's Z coordinate.
+     * @return True if no dungeon is too close.
      */
-    public Optional<BlockPos> selectPosition(ServerLevel level) {
-        // Get the DungeonGenerationTracker capability for this level
-        Optional<DungeonGenerationTracker> trackerOptional = level.getCapability(DungeonGenerationTrackerProvider.DUNGEON_GENERATION_TRACKER_CAPABILITY).resolve();
+    static boolean isSpacedFrom(Collection<BlockPos> existingDungeons, int x, int z) {
+        for (BlockPos existingDungeonPos : existingDungeons) {
+            if (Math.abs(existingDungeonPos.getX() - x) + Math.abs(existingDungeonPos.getZ() - z) < MIN_DISTANCE_BETWEEN_DUNGEONS) {
+                return false;
+            }
+        }
+        return true;
+    }
 
+    /**
+     * Runs the {@link SiteCheck}s on the candidates, split into batches that are evaluated in parallel
+     * on the given executor. Checks run in the order chosen by the level's {@link SearchController},
+     * and every run is reported back to it. Only world generation noise is sampled; no chunk is loaded
+     * or generated.
+     *
+     * @param context The captured search context.
+     * @param candidates Candidate columns, as returned by {@link #proposeCandidates}.
+     * @param controller The level's search controller.
+     * @param executor The executor to evaluate the batches on.
+     * @return A future with the accepted sites (with their final Y), in the order the candidates were drawn.
+     */
+    public static CompletableFuture<List<BlockPos>> evaluateCandidates(SiteContext context, List<BlockPos> candidates,
+                                                                       SearchController controller, Executor executor) {
+        List<SiteCheck> checks = controller.checkOrder();
+        int batchSize = Math.max(MIN_BATCH_SIZE, (candidates.size() + PARALLEL_BATCHES - 1) / PARALLEL_BATCHES);
+        List<CompletableFuture<List<BlockPos>>> batches = new ArrayList<>();
+        for (int start = 0; start < candidates.size(); start += batchSize) {
+            List<BlockPos> batch = candidates.subList(start, Math.min(candidates.size(), start + batchSize));
+            batches.add(CompletableFuture.supplyAsync(() -> evaluateBatch(context, batch, checks, controller), executor));
+        }
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<BlockPos> sites = new ArrayList<>();
+            for (CompletableFuture<List<BlockPos>> batch : batches) {
+                sites.addAll(batch.join());
+            }
+            return sites;
+        });
+    }
+
+    private static List<BlockPos> evaluateBatch(SiteContext context, List<BlockPos> batch, List<SiteCheck> checks, SearchController controller) {
+        List<BlockPos> sites = new ArrayList<>();
+        BatchStats stats = new BatchStats();
+        long batchStart = System.nanoTime();
+        for (BlockPos column : batch) {
+            SiteCandidate candidate = new SiteCandidate(column.getX(), column.getZ());
+            if (passesChecks(context, candidate, checks, stats)) {
+                // Move up a few blocks to ensure space for dungeon entrance / spawn
+                sites.add(candidate.toDungeonPos());
+            }
+        }
+        controller.recordProbes(batch.size(), System.nanoTime() - batchStart);
+        controller.recordChecks(stats.nanos, stats.runs, stats.rejections);
+        return sites;
+    }
+
+    /**
+     * Per-check totals of one batch, reported to the controller once the batch is done.
+     */
+    private static final class BatchStats {
+        private final long[] nanos = new long[SiteCheck.values().length];
+        private final int[] runs = new int[SiteCheck.values().length];
+        private final int[] rejections = new int[SiteCheck.values().length];
+    }
+
+    /**
+     * Runs the checks on a candidate in the given order, stopping at the first rejection.
+     */
+    private static boolean passesChecks(SiteContext context, SiteCandidate candidate, List<SiteCheck> checks, BatchStats stats) {
+        for (SiteCheck check : checks) {
+            long checkStart = System.nanoTime();
+            boolean passed = check.test(context, candidate);
+            int index = check.ordinal();
+            stats.nanos[index] += System.nanoTime() - checkStart;
+            stats.runs[index]++;
+            if (!passed) {
+                stats.rejections[index]++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Claims the first evaluated site that is still far enough from every dungeon.
+     * This stage mutates the tracker, so it must run on the server thread. Distances are re-checked
+     * against the live tracker, since other dungeons may have been claimed after the sites were evaluated.
+     * It does not read the level.
+     *
+     * @param level The ServerLevel to select a position in.
+     * @param sites Evaluated sites, as returned by {@link #evaluateCandidates}.
+     * @return An Optional containing the claimed BlockPos, or empty if no site was usable.
+     */
+    public static Optional<BlockPos> selectPosition(ServerLevel level, List<BlockPos> sites) {
+        Optional<DungeonGenerationTracker> trackerOptional = getTracker(level);
         if (trackerOptional.isEmpty()) {
-            ChaoticDungeons.LOGGER.error("PositionSelector: Could not retrieve DungeonGenerationTracker capability for level {}. Cannot select position.", level.dimension().location());
             return Optional.empty();
         }
+        return claimSpaced(trackerOptional.get(), sites, SlotLedger.get(), level.dimension());
+    }
 
-        DungeonGenerationTracker tracker = trackerOptional.get();
-        BlockPos spawnPoint = level.getSharedSpawnPos(); // Use world spawn as a reference
+    /**
+     * The level-independent part of {@link #selectPosition(ServerLevel, List)}: claims the first site that is far enough
+     * from every tracked dungeon and, if a ledger is given, from every site other instances claimed.
+     *
+     * @param tracker The tracker to check against and record the claim in.
+     * @param sites Evaluated sites, in order of preference.
+     * @param ledger The shared slot ledger, or null.
+     * @param dimension The dimension the sites are in, for the ledger.
+     * @return An Optional containing the claimed BlockPos, or empty if no site was usable.
+     */
+    public static Optional<BlockPos> claimSpaced(DungeonGenerationTracker tracker, List<BlockPos> sites, @Nullable SlotLedger ledger,
+                                                 ResourceKey<Level> dimension) {
         int attempts = 0;
 
-        while (attempts < MAX_ATTEMPTS) {
+        for (BlockPos proposedPos : sites) {
             attempts++;
-            // Generate a random X and Z coordinate far from spawn but within a reasonable range
-            int x = spawnPoint.getX() + random.nextInt(SEARCH_RADIUS_AROUND_SPAWN * 2) - SEARCH_RADIUS_AROUND_SPAWN;
-            int z = spawnPoint.getZ() + random.nextInt(SEARCH_RADIUS_AROUND_SPAWN * 2) - SEARCH_RADIUS_AROUND_SPAWN;
-
-            // Find the highest solid block at this X, Z
-            // Use getHighestData for performance on potentially loaded chunks
-            // Or getChunk at first and then getHeight to avoid chunk loading on every call
-            BlockPos groundPos = level.getHeightmapPos(Heightmap.Types.WORLD_SURFACE_WG, new BlockPos(x, 0, z));
-
-            // Check if the ground is too high or too low, or if it's liquid
-            if (groundPos.getY() < level.getMinBuildHeight() + 10 || groundPos.getY() > level.getMaxBuildHeight() - 10) {
-                continue; // Skip if too close to world bounds
-            }
-            if (level.getBlockState(groundPos).getFluidState().is(Fluids.WATER) || level.getBlockState(groundPos).getFluidState().is(Fluids.LAVA)) {
-                continue; // Skip if on water/lava
-            }
 
-            // Move up a few blocks to ensure space for dungeon entrance / spawn
-            BlockPos proposedPos = groundPos.above(2);
-
-            // Check distance to all existing dungeons
+            // Check the full distance to all existing dungeons
             boolean tooClose = false;
             for (BlockPos existingDungeonPos : tracker.getGeneratedDungeonPositions()) {
                 if (existingDungeonPos.distManhattan(proposedPos) < MIN_DISTANCE_BETWEEN_DUNGEONS) {
@@ -140,22 +245,105 @@ public class PositionSelector {
                 }
             }
 
-            if (!tooClose) {
-                // Ensure the chunk is loaded before marking the position
-                if (!level.hasChunkAt(proposedPos)) {
-                    // Force chunk load to accurately check surrounding area and add to tracker
-                    // This can be a performance concern if done excessively.
-                    // For now, assume a chunk will be loaded during structure generation.
-                    // The primary check is against the *tracker*, not dynamically loaded chunks.
-                }
+            // Other server instances sharing the slot ledger may have claimed a nearby site
+            if (!tooClose && ledger != null && !ledger.claim(dimension, proposedPos, MIN_DISTANCE_BETWEEN_DUNGEONS)) {
+                ChaoticDungeons.LOGGER.debug("Proposed dungeon position {} is too close to a site claimed by another server instance.", proposedPos);
+                tooClose = true;
+            }
 
+            if (!tooClose) {
                 tracker.addGeneratedDungeonPosition(proposedPos); // Mark this position as used
-                ChaoticDungeons.LOGGER.info("PositionSelector: Found suitable dungeon spawn position after {} attempts: {}", attempts, proposedPos);
+                ChaoticDungeons.LOGGER.debug("PositionSelector: Found suitable dungeon spawn position after {} attempts: {}", attempts, proposedPos);
                 return Optional.of(proposedPos);
             }
         }
 
-        ChaoticDungeons.LOGGER.warn("PositionSelector: Failed to find a suitable dungeon spawn position after {} attempts.", MAX_ATTEMPTS);
+        ChaoticDungeons.LOGGER.warn("PositionSelector: Failed to find a suitable dungeon spawn position among {} evaluated sites.", attempts);
         return Optional.empty();
     }
+
+    /**
+     * Checks whether a position is already recorded as a dungeon, in the tracker or in the shared ledger.
+     *
+     * @param level The ServerLevel of the position.
+     * @param pos The position.
+     * @return True if a dungeon was recorded at exactly this position.
+     */
+    public static boolean isClaimed(ServerLevel level, BlockPos pos) {
+        if (getTracker(level).map(tracker -> tracker.getGeneratedDungeonPositions().contains(pos)).orElse(true)) {
+            return true;
+        }
+        SlotLedger ledger = SlotLedger.get();
+        return ledger != null && ledger.occupied(level.dimension()).contains(pos);
+    }
+
+    /**
+     * Claims a naturally generated structure as a dungeon. Unlike {@link #selectPosition(ServerLevel, List)},
+     * no spacing is enforced: the structure already exists, so only the exact position must still be unclaimed.
+     * Must be called on the server thread.
+     *
+     * @param level The ServerLevel of the structure.
+     * @param pos The structure's claim key.
+     * @return True if the structure was claimed; false if it already was.
+     */
+    public static boolean claimNaturalStructure(ServerLevel level, BlockPos pos) {
+        Optional<DungeonGenerationTracker> trackerOptional = getTracker(level);
+        if (trackerOptional.isEmpty() || trackerOptional.get().getGeneratedDungeonPositions().contains(pos)) {
+            return false;
+        }
+        SlotLedger ledger = SlotLedger.get();
+        if (ledger != null && !ledger.claim(level.dimension(), pos, 1)) {
+            return false;
+        }
+        trackerOptional.get().addGeneratedDungeonPosition(pos);
+        return true;
+    }
+
+    /**
+     * Copies the dungeon positions a new site must keep its distance from: this level's tracker and,
+     * if a {@link SlotLedger} is configured, the sites other server instances on the host have claimed.
+     * Only the tracker read needs the server thread; the ledger is read without locking.
+     *
+     * @param level The ServerLevel to read the tracker from.
+     * @return An immutable snapshot of the dungeon positions.
+     */
+    public static Collection<BlockPos> snapshotExistingDungeons(ServerLevel level) {
+        List<BlockPos> existing = new ArrayList<>(getTracker(level)
+                .map(DungeonGenerationTracker::getGeneratedDungeonPositions)
+                .orElse(Set.of()));
+        SlotLedger ledger = SlotLedger.get();
+        if (ledger != null) {
+            existing.addAll(ledger.occupied(level.dimension()));
+        }
+        return List.copyOf(existing);
+    }
+
+    /**
+     * Gives up a claimed site that no dungeon was built on, in the tracker and in the shared ledger.
+     *
+     * @param level The ServerLevel of the site.
+     * @param pos The claimed site.
+     */
+    public static void releasePosition(ServerLevel level, BlockPos pos) {
+        getTracker(level).ifPresent(tracker -> tracker.removeGeneratedDungeonPosition(pos));
+        SlotLedger ledger = SlotLedger.get();
+        if (ledger != null) {
+            ledger.release(level.dimension(), pos);
+        }
+    }
+
+    /**
+     * Resolves the DungeonGenerationTracker capability of the given level, logging if it is missing.
+     *
+     * @param level The ServerLevel to read the tracker from.
+     * @return An Optional containing the tracker, or empty if the capability is not attached.
+     */
+    public static Optional<DungeonGenerationTracker> getTracker(ServerLevel level) {
+        Optional<DungeonGenerationTracker> trackerOptional = level.getCapability(DungeonGenerationTrackerProvider.DUNGEON_GENERATION_TRACKER_CAPABILITY).resolve();
+
+        if (trackerOptional.isEmpty()) {
+            ChaoticDungeons.LOGGER.error("PositionSelector: Could not retrieve DungeonGenerationTracker capability for level {}. Cannot select position.", level.dimension().location());
+        }
+        return trackerOptional;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/SearchController.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-level feedback controller for the dungeon position search.
+ * It measures how many drawn columns survive the spacing prefilter, what a probed candidate costs and
+ * how often each {@link SiteCheck} rejects, and derives the search parameters from that:
+ * <ul>
+ *     <li>the search annulus is widened when the tracked dungeons cover too much of it or acceptance drops,
+ *     and its inner edge is shifted outwards once the core is saturated;</li>
+ *     <li>checks run cheapest-per-rejection first;</li>
+ *     <li>the number of probed candidates is capped to fit the configured latency budget.</li>
+ * </ul>
+ * Methods are synchronized: statistics are reported from both the server thread and worker threads.
+ */
+public class SearchController {
+
+    private static final Map<ResourceKey<Level>, SearchController> CONTROLLERS = new ConcurrentHashMap<>();
+
+    private static final int INITIAL_OUTER_RADIUS = 20000; // Search radius for initial spawn points (large to ensure variety)
+    private static final int MAX_OUTER_RADIUS = 29_000_000;
+    private static final int MIN_PROBES = 8;
+    private static final int MAX_PROBES = 256;
+    private static final int MAX_PROPOSALS = 4096;
+    private static final double SMOOTHING = 0.2; // Weight of a new sample in the moving averages
+    private static final double WIDEN_ACCEPTANCE = 0.25; // Widen the annulus when fewer drawn columns pass spacing
+    private static final double SHIFT_ACCEPTANCE = 0.05; // Move the inner edge out when almost none pass
+    private static final double WIDEN_FACTOR = 1.25;
+    private static final double MAX_OCCUPANCY = 0.35; // Share of the annulus covered by exclusion zones before widening
+    private static final double TARGET_OCCUPANCY = 0.2; // Share to widen back down to
+
+    /**
+     * A snapshot of the search parameters, safe to hand to a worker thread.
+     *
+     * @param innerRadius Inner radius of the search annulus around spawn.
+     * @param outerRadius Outer radius of the search annulus around spawn.
+     * @param proposals The maximum number of columns to draw.
+     * @param maxProbes The maximum number of candidates to probe.
+     */
+    public record SearchParameters(int innerRadius, int outerRadius, int proposals, int maxProbes) {
+    }
+
+    private int innerRadius = 0;
+    private int outerRadius = INITIAL_OUTER_RADIUS;
+    private int maxRadius = MAX_OUTER_RADIUS;
+    private double spacingAcceptance = 1.0D;
+    private double probeNanos = 1_000_000.0D; // Initial guess: one millisecond per probed candidate
+    private final double[] checkNanos = new double[SiteCheck.values().length];
+    private final double[] checkRejection = new double[SiteCheck.values().length];
+
+    private SearchController() {
+        for (SiteCheck check : SiteCheck.values()) {
+            checkNanos[check.ordinal()] = 1.0D;
+            checkRejection[check.ordinal()] = 0.5D;
+        }
+    }
+
+    /**
+     * Returns the controller of the given level, creating it on first use.
+     *
+     * @param level The ServerLevel.
+     * @return The level's SearchController.
+     */
+    public static SearchController get(ServerLevel level) {
+        return CONTROLLERS.computeIfAbsent(level.dimension(), key -> new SearchController());
+    }
+
+    /**
+     * Creates a controller that belongs to no level. Used by the offline {@code CapacitySimulator}.
+     *
+     * @return A new SearchController with the initial parameters.
+     */
+    public static SearchController detached() {
+        return new SearchController();
+    }
+
+    /**
+     * Drops all controllers. Called when the server stops.
+     */
+    public static void clear() {
+        CONTROLLERS.clear();
+    }
+
+    /**
+     * Computes the parameters for the next search. Must be called on the server thread.
+     *
+     * @param level The ServerLevel to search in.
+     * @param trackedDungeons The number of dungeons already generated in the level.
+     * @return The search parameters.
+     */
+    public SearchParameters parameters(ServerLevel level, int trackedDungeons) {
+        return parameters(level.getWorldBorder().getSize(), trackedDungeons, ChaoticDungeonsConfig.SERVER.searchLatencyBudgetMillis.get() * 1_000_000L);
+    }
+
+    /**
+     * Computes the parameters for the next search from explicit inputs instead of a level and the config.
+     *
+     * @param worldBorderSize The side length of the level's world border.
+     * @param trackedDungeons The number of dungeons already generated in the level.
+     * @param budgetNanos The worker time that may be spent evaluating candidates.
+     * @return The search parameters.
+     */
+    public synchronized SearchParameters parameters(double worldBorderSize, int trackedDungeons, long budgetNanos) {
+        maxRadius = (int) Math.max(INITIAL_OUTER_RADIUS, Math.min(MAX_OUTER_RADIUS, worldBorderSize / 2.0D - PositionSelector.MIN_DISTANCE_BETWEEN_DUNGEONS));
+
+        // Every dungeon excludes a Manhattan diamond of area 2 * d^2 around itself.
+        double exclusionArea = 2.0D * PositionSelector.MIN_DISTANCE_BETWEEN_DUNGEONS * PositionSelector.MIN_DISTANCE_BETWEEN_DUNGEONS * trackedDungeons;
+        double annulusArea = Math.PI * ((double) outerRadius * outerRadius - (double) innerRadius * innerRadius);
+        if (exclusionArea / annulusArea > MAX_OCCUPANCY) {
+            int widened = (int) Math.min(maxRadius, Math.sqrt((double) innerRadius * innerRadius + exclusionArea / (Math.PI * TARGET_OCCUPANCY)));
+            if (widened > outerRadius) {
+                ChaoticDungeons.LOGGER.debug("SearchController: {} dungeons tracked; widening search radius {} -> {}.", trackedDungeons, outerRadius, widened);
+                outerRadius = widened;
+            }
+        }
+
+        int maxProbes = (int) Math.max(MIN_PROBES, Math.min(MAX_PROBES, budgetNanos / probeNanos));
+        int proposals = (int) Math.min(MAX_PROPOSALS, Math.ceil(maxProbes / Math.max(spacingAcceptance, SHIFT_ACCEPTANCE)));
+        return new SearchParameters(innerRadius, outerRadius, proposals, maxProbes);
+    }
+
+    /**
+     * Returns the checks ordered by expected cost per rejected candidate, cheapest first.
+     *
+     * @return A new list of all checks.
+     */
+    public synchronized List<SiteCheck> checkOrder() {
+        List<SiteCheck> order = new ArrayList<>(List.of(SiteCheck.values()));
+        order.sort(Comparator.comparingDouble(check -> checkNanos[check.ordinal()] / Math.max(checkRejection[check.ordinal()], 0.01D)));
+        return order;
+    }
+
+    /**
+     * Reports the outcome of a proposal round.
+     *
+     * @param drawn The number of columns drawn.
+     * @param accepted The number that passed the spacing prefilter.
+     */
+    public synchronized void recordProposals(int drawn, int accepted) {
+        if (drawn == 0) {
+            return;
+        }
+        spacingAcceptance += SMOOTHING * ((double) accepted / drawn - spacingAcceptance);
+        if (spacingAcceptance < WIDEN_ACCEPTANCE && outerRadius < maxRadius) {
+            if (spacingAcceptance < SHIFT_ACCEPTANCE && innerRadius < outerRadius / 2) {
+                // The core is saturated: stop drawing from it.
+                innerRadius = outerRadius / 2;
+            }
+            outerRadius = (int) Math.min(maxRadius, outerRadius * WIDEN_FACTOR);
+            ChaoticDungeons.LOGGER.debug("SearchController: Acceptance {}; search annulus is now {}..{}.", String.format("%.2f", spacingAcceptance), innerRadius, outerRadius);
+            // Measure the new annulus from a neutral starting point instead of the stale average.
+            spacingAcceptance = 0.5D;
+        }
+    }
+
+    /**
+     * Reports the check runs of one evaluation batch. Each check's totals count as a single sample of the
+     * moving averages, so that workers take the lock once per batch rather than once per check run.
+     *
+     * @param nanos The total time spent in each check, indexed by {@link SiteCheck#ordinal()}.
+     * @param runs The number of times each check ran.
+     * @param rejections The number of candidates each check rejected.
+     */
+    public synchronized void recordChecks(long[] nanos, int[] runs, int[] rejections) {
+        for (int index = 0; index < runs.length; index++) {
+            if (runs[index] > 0) {
+                checkNanos[index] += SMOOTHING * ((double) nanos[index] / runs[index] - checkNanos[index]);
+                checkRejection[index] += SMOOTHING * ((double) rejections[index] / runs[index] - checkRejection[index]);
+            }
+        }
+    }
+
+    /**
+     * Reports the outcome of a probe round.
+     *
+     * @param probes The number of candidates probed.
+     * @param nanos The total time spent.
+     */
+    public synchronized void recordProbes(int probes, long nanos) {
+        if (probes > 0) {
+            probeNanos += SMOOTHING * ((double) nanos / probes - probeNanos);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/SiteCandidate.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import net.minecraft.core.BlockPos;
+
+/**
+ * A candidate dungeon column while it passes through the {@link SiteCheck}s.
+ * X and Z are fixed; the ground height is filled in by the check that resolves the surface.
+ */
+public class SiteCandidate {
+
+    /**
+     * Marker for a ground height that has not been resolved yet.
+     */
+    public static final int UNKNOWN_Y = Integer.MIN_VALUE;
+
+    private final int x;
+    private final int z;
+    private int groundY = UNKNOWN_Y;
+
+    public SiteCandidate(int x, int z) {
+        this.x = x;
+        this.z = z;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public int getGroundY() {
+        return groundY;
+    }
+
+    public void setGroundY(int groundY) {
+        this.groundY = groundY;
+    }
+
+    /**
+     * Returns the position a dungeon would be placed at: a few blocks above the resolved ground.
+     *
+     * @return The dungeon position, or the column at Y 0 if the ground is still unknown.
+     */
+    public BlockPos toDungeonPos() {
+        return groundY == UNKNOWN_Y ? new BlockPos(x, 0, z) : new BlockPos(x, groundY + 2, z);
+    }
+}
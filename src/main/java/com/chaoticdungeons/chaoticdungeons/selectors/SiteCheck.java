@@ -0,0 +1,81 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/SiteCheck.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.tags.BiomeTags;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.Heightmap;
+
+import java.util.List;
+
+/**
+ * The independent rejection checks a candidate dungeon column has to pass once it has cleared the
+ * spacing prefilter of {@link PositionSelector#proposeCandidates}.
+ * Checks only read the captured {@link SiteContext}, so they are safe to run on worker threads.
+ * The {@link SearchController} runs them in the order that rejects bad candidates most cheaply,
+ * based on the measured cost and rejection rate of each check.
+ */
+public enum SiteCheck {
+
+    /**
+     * Rejects columns in biomes no dungeon should be placed in (oceans, rivers) and, if the chosen dungeon
+     * has a biome filter, columns outside it. Samples the biome source's climate noise at a single point,
+     * which is far cheaper than resolving the surface.
+     */
+    BIOME {
+        @Override
+        public boolean test(SiteContext context, SiteCandidate candidate) {
+            int y = candidate.getGroundY() == SiteCandidate.UNKNOWN_Y ? context.generator().getSeaLevel() : candidate.getGroundY();
+            Holder<Biome> biome = context.generator().getBiomeSource().getNoiseBiome(
+                    QuartPos.fromBlock(candidate.getX()), QuartPos.fromBlock(y), QuartPos.fromBlock(candidate.getZ()), context.randomState().sampler());
+            for (TagKey<Biome> unsuitable : UNSUITABLE_BIOMES) {
+                if (biome.is(unsuitable)) {
+                    return false;
+                }
+            }
+            return context.biomeTag() == null || biome.is(context.biomeTag());
+        }
+    },
+
+    /**
+     * Resolves the ground height and rejects columns near the world bounds or on water or lava.
+     * The height comes from the generator's noise alone, the same value the chunk's worldgen heightmap
+     * would hold, so no chunk is generated for rejected (or accepted) candidates.
+     */
+    SURFACE {
+        @Override
+        public boolean test(SiteContext context, SiteCandidate candidate) {
+            ChunkGenerator generator = context.generator();
+            LevelHeightAccessor heights = context.heights();
+            // First free block above the terrain, fluids included
+            int surfaceY = generator.getBaseHeight(candidate.getX(), candidate.getZ(), Heightmap.Types.WORLD_SURFACE_WG, heights, context.randomState());
+
+            // Check if the ground is too high or too low, or if it's liquid
+            if (surfaceY < heights.getMinBuildHeight() + 10 || surfaceY > heights.getMaxBuildHeight() - 10) {
+                return false; // Skip if too close to world bounds
+            }
+            // First free block above the solid terrain; higher surfaces mean water or lava on top
+            int floorY = generator.getBaseHeight(candidate.getX(), candidate.getZ(), Heightmap.Types.OCEAN_FLOOR_WG, heights, context.randomState());
+            if (floorY != surfaceY) {
+                return false; // Skip if on water/lava
+            }
+            candidate.setGroundY(surfaceY);
+            return true;
+        }
+    };
+
+    private static final List<TagKey<Biome>> UNSUITABLE_BIOMES = List.of(BiomeTags.IS_OCEAN, BiomeTags.IS_RIVER);
+
+    /**
+     * Tests a candidate.
+     *
+     * @param context The captured search context.
+     * @param candidate The candidate column; checks may fill in its ground height.
+     * @return True if the candidate passes.
+     */
+    public abstract boolean test(SiteContext context, SiteCandidate candidate);
+}
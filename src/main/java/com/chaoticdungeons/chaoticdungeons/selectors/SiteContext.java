@@ -0,0 +1,43 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/SiteContext.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.RandomState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Everything the {@link SiteCheck}s need, captured on the server thread so that the checks can run on
+ * worker threads. Only the level's immutable world generation state is captured; no chunk is ever touched.
+ *
+ * @param generator The level's chunk generator.
+ * @param randomState The level's noise and random state.
+ * @param heights The level's build height range.
+ * @param biomeTag The biome tag the chosen dungeon is limited to, or null for any biome.
+ */
+public record SiteContext(ChunkGenerator generator, RandomState randomState, LevelHeightAccessor heights, @Nullable TagKey<Biome> biomeTag) {
+
+    /**
+     * Captures the context of the given level. Must be called on the server thread.
+     *
+     * @param level The ServerLevel to search in.
+     * @return The captured SiteContext.
+     */
+    public static SiteContext capture(ServerLevel level) {
+        return new SiteContext(level.getChunkSource().getGenerator(), level.getChunkSource().randomState(),
+                LevelHeightAccessor.create(level.getMinBuildHeight(), level.getHeight()), null);
+    }
+
+    /**
+     * Returns a copy of this context limited to the given biome tag.
+     *
+     * @param biomeTag The biome tag of the chosen dungeon, or null for any biome.
+     * @return The new SiteContext.
+     */
+    public SiteContext withBiomeTag(@Nullable TagKey<Biome> biomeTag) {
+        return new SiteContext(generator, randomState, heights, biomeTag);
+    }
+}
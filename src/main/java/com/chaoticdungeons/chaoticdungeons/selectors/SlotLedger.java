@@ -0,0 +1,243 @@
+// src/main/java/com/chaoticdungeons/chaoticdungeons/selectors/SlotLedger.java
+package com.chaoticdungeons.chaoticdungeons.selectors;
+
+import com.chaoticdungeons.chaoticdungeons.ChaoticDungeons;
+import com.chaoticdungeons.chaoticdungeons.config.ChaoticDungeonsConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An optional dungeon slot ledger shared by every server instance on the host (e.g. a hub and its shards
+ * running copies of the same world). Each instance still keeps its own {@code DungeonGenerationTracker};
+ * the ledger only makes sure two instances never claim dungeon sites too close to each other.
+ * <p>
+ * The ledger is a memory-mapped file. Claims and releases take an exclusive {@link FileLock} on it, so they
+ * are serialised across processes. Reads take no lock: the header holds a sequence number that writers make odd
+ * while they change slots and even when they are done, and readers retry until they saw the same even
+ * number before and after their scan.
+ * <p>
+ * Layout: a {@value #HEADER_SIZE}-byte header (magic, version, slot size, capacity, sequence) followed by
+ * {@code capacity} slots of {@value #SLOT_SIZE} bytes (dimension hash, 0 if free; x, y, z; owner). All values are big-endian.
+ */
+public class SlotLedger {
+
+    private static final int MAGIC = 0x43444C31; // "CDL1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int SLOT_SIZE = 32;
+    private static final int CAPACITY = 16384; // 512 KiB of slots
+    private static final int HEADER_SEQUENCE_OFFSET = 16;
+    private static final int MAX_READ_ATTEMPTS = 1000; // A writer that died mid-write leaves the sequence odd
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static SlotLedger INSTANCE;
+    private static boolean disabled;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long owner = ProcessHandle.current().pid();
+
+    private SlotLedger(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the shared ledger, opening it on first use.
+     *
+     * @return The ledger, or null if no ledger file is configured or it could not be opened.
+     */
+    @Nullable
+    public static synchronized SlotLedger get() {
+        if (INSTANCE == null && !disabled) {
+            String file = ChaoticDungeonsConfig.SERVER.ledgerFile.get();
+            if (file.isEmpty()) {
+                disabled = true;
+                return null;
+            }
+            Path path = Path.of(file);
+            try {
+                INSTANCE = open(path);
+                ChaoticDungeons.LOGGER.info("SlotLedger: Sharing dungeon slots through {}.", path.toAbsolutePath());
+            } catch (IOException e) {
+                ChaoticDungeons.LOGGER.error("SlotLedger: Failed to open {}: {}", path, e.getMessage());
+                disabled = true;
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Closes the ledger, if open. Called when the server stops.
+     */
+    public static synchronized void close() {
+        if (INSTANCE != null) {
+            try {
+                INSTANCE.buffer.force();
+                INSTANCE.channel.close();
+            } catch (IOException e) {
+                ChaoticDungeons.LOGGER.error("SlotLedger: Failed to close ledger: {}", e.getMessage());
+            }
+            INSTANCE = null;
+        }
+        disabled = false;
+    }
+
+    private static SlotLedger open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) CAPACITY * SLOT_SIZE);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        SlotLedger ledger = new SlotLedger(channel, buffer);
+        try (FileLock ignored = channel.lock()) {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != SLOT_SIZE || buffer.getInt(12) != CAPACITY) {
+                // New file, or one written with a different layout: start over.
+                for (int offset = HEADER_SIZE; offset < HEADER_SIZE + CAPACITY * SLOT_SIZE; offset += SLOT_SIZE) {
+                    buffer.putLong(offset, 0L);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, SLOT_SIZE);
+                buffer.putInt(12, CAPACITY);
+                LONGS.setVolatile(buffer, HEADER_SEQUENCE_OFFSET, 0L);
+            } else if (((long) LONGS.getVolatile(buffer, HEADER_SEQUENCE_OFFSET) & 1L) != 0L) {
+                // An instance died while writing; we hold the lock, so no write is in progress.
+                ledger.endWrite();
+            }
+        }
+        return ledger;
+    }
+
+    /**
+     * Returns every claimed slot in the given dimension, from all instances. Takes no lock.
+     * Safe to call from worker threads.
+     *
+     * @param dimension The dimension.
+     * @return The claimed dungeon positions.
+     */
+    public List<BlockPos> occupied(ResourceKey<Level> dimension) {
+        long dimensionHash = hash(dimension);
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            long before = (long) LONGS.getVolatile(buffer, HEADER_SEQUENCE_OFFSET);
+            if ((before & 1L) == 0L) {
+                List<BlockPos> positions = scan(dimensionHash);
+                if ((long) LONGS.getVolatile(buffer, HEADER_SEQUENCE_OFFSET) == before) {
+                    return positions;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        // Claims re-check under the lock, so a possibly torn snapshot only costs a wasted candidate.
+        return scan(dimensionHash);
+    }
+
+    /**
+     * Claims a slot for a dungeon site if no instance holds one within {@code minDistance} (Manhattan) of it.
+     *
+     * @param dimension The dimension of the site.
+     * @param pos The dungeon site.
+     * @param minDistance The minimum distance to every other claimed site in the dimension.
+     * @return True if the slot was claimed; false if the site is too close to another claim, the ledger is full or unusable.
+     */
+    public synchronized boolean claim(ResourceKey<Level> dimension, BlockPos pos, int minDistance) {
+        long dimensionHash = hash(dimension);
+        try (FileLock ignored = channel.lock()) {
+            int free = -1;
+            for (int offset = HEADER_SIZE; offset < HEADER_SIZE + CAPACITY * SLOT_SIZE; offset += SLOT_SIZE) {
+                long slotDimension = buffer.getLong(offset);
+                if (slotDimension == 0L) {
+                    if (free < 0) {
+                        free = offset;
+                    }
+                } else if (slotDimension == dimensionHash && readPos(offset).distManhattan(pos) < minDistance) {
+                    return false;
+                }
+            }
+            if (free < 0) {
+                ChaoticDungeons.LOGGER.error("SlotLedger: Ledger is full ({} slots); cannot claim {}.", CAPACITY, pos);
+                return false;
+            }
+            beginWrite();
+            buffer.putInt(free + 8, pos.getX());
+            buffer.putInt(free + 12, pos.getY());
+            buffer.putInt(free + 16, pos.getZ());
+            buffer.putLong(free + 24, owner);
+            buffer.putLong(free, dimensionHash);
+            endWrite();
+            return true;
+        } catch (IOException e) {
+            ChaoticDungeons.LOGGER.error("SlotLedger: Failed to lock ledger: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Frees the slot of a dungeon site, e.g. a reserved site that was never built on.
+     *
+     * @param dimension The dimension of the site.
+     * @param pos The dungeon site.
+     */
+    public synchronized void release(ResourceKey<Level> dimension, BlockPos pos) {
+        long dimensionHash = hash(dimension);
+        try (FileLock ignored = channel.lock()) {
+            for (int offset = HEADER_SIZE; offset < HEADER_SIZE + CAPACITY * SLOT_SIZE; offset += SLOT_SIZE) {
+                if (buffer.getLong(offset) == dimensionHash && readPos(offset).equals(pos)) {
+                    beginWrite();
+                    buffer.putLong(offset, 0L);
+                    endWrite();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            ChaoticDungeons.LOGGER.error("SlotLedger: Failed to lock ledger: {}", e.getMessage());
+        }
+    }
+
+    private List<BlockPos> scan(long dimensionHash) {
+        List<BlockPos> positions = new ArrayList<>();
+        for (int offset = HEADER_SIZE; offset < HEADER_SIZE + CAPACITY * SLOT_SIZE; offset += SLOT_SIZE) {
+            if (buffer.getLong(offset) == dimensionHash) {
+                positions.add(readPos(offset));
+            }
+        }
+        return positions;
+    }
+
+    private BlockPos readPos(int offset) {
+        return new BlockPos(buffer.getInt(offset + 8), buffer.getInt(offset + 12), buffer.getInt(offset + 16));
+    }
+
+    // Only called while holding the file lock, so the sequence is never written concurrently.
+    private void beginWrite() {
+        LONGS.setVolatile(buffer, HEADER_SEQUENCE_OFFSET, (long) LONGS.getVolatile(buffer, HEADER_SEQUENCE_OFFSET) + 1L);
+    }
+
+    private void endWrite() {
+        LONGS.setVolatile(buffer, HEADER_SEQUENCE_OFFSET, (long) LONGS.getVolatile(buffer, HEADER_SEQUENCE_OFFSET) + 1L);
+    }
+
+    /**
+     * Hashes a dimension id to a non-zero slot tag; 0 marks free slots.
+     */
+    private static long hash(ResourceKey<Level> dimension) {
+        return (dimension.location().toString().hashCode() & 0xFFFFFFFFL) | (1L << 32);
+    }
+}
@@ -0,0 +1,89 @@
+// src/test/java/com/chaoticdungeons/chaoticdungeons/ListenerRegistrationTest.java
+package com.chaoticdungeons.chaoticdungeons;
+
+import com.chaoticdungeons.chaoticdungeons.capabilities.DungeonGenerationTracker;
+import com.chaoticdungeons.chaoticdungeons.dungeons.DungeonData;
+import com.chaoticdungeons.chaoticdungeons.handlers.StructureSummoner;
+import com.chaoticdungeons.chaoticdungeons.handlers.TeleportHandler;
+import com.chaoticdungeons.chaoticdungeons.selectors.DungeonSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.PositionSelector;
+import com.chaoticdungeons.chaoticdungeons.selectors.SearchController;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that listeners are only registered by the mod constructor's registration path, and that activations
+ * (the selector, summoner and teleport entry points) never add more.
+ */
+class ListenerRegistrationTest {
+
+    private static final int ACTIVATIONS = 1_000;
+    private static final double WORLD_BORDER_SIZE = 60_000_000.0D;
+    private static final long SEARCH_BUDGET_NANOS = 20_000_000L;
+
+    @Test
+    void activationsDoNotAddListeners() {
+        CountingBus modBus = new CountingBus();
+        CountingBus forgeBus = new CountingBus();
+        ChaoticDungeons.registerListeners(modBus.proxy(), forgeBus.proxy());
+        int modListeners = modBus.registrations;
+        int forgeListeners = forgeBus.registrations;
+        assertTrue(modListeners > 0 && forgeListeners > 0, "The registration path registered no listeners");
+
+        DungeonGenerationTracker tracker = new DungeonGenerationTracker();
+        SearchController controller = SearchController.detached();
+        DungeonData unplaceable = new DungeonData("", "basic", 1, null, null, 0, false, null);
+        Random random = new Random(0L);
+        for (int i = 0; i < ACTIVATIONS; i++) {
+            DungeonSelector.selectDungeons("basic", 1);
+            SearchController.SearchParameters parameters = controller.parameters(WORLD_BORDER_SIZE, tracker.getGeneratedDungeonPositions().size(), SEARCH_BUDGET_NANOS);
+            List<BlockPos> candidates = PositionSelector.proposeCandidates(BlockPos.ZERO, tracker.getGeneratedDungeonPositions(), controller, parameters, random);
+            PositionSelector.claimSpaced(tracker, candidates, null, Level.OVERWORLD);
+            StructureSummoner.loadTemplate(null, unplaceable);
+            StructureSummoner.createPlaceSettings(Rotation.NONE);
+            TeleportHandler.handleGroupTeleport(List.of(), null, BlockPos.ZERO, List.of());
+        }
+
+        assertEquals(modListeners, modBus.registrations, "Activations added mod bus listeners");
+        assertEquals(forgeListeners, forgeBus.registrations, "Activations added Forge bus listeners");
+    }
+
+    /**
+     * A standalone event bus that counts every listener registered on it.
+     */
+    private static final class CountingBus implements InvocationHandler {
+
+        private final IEventBus delegate = BusBuilder.builder().build();
+        private int registrations;
+
+        IEventBus proxy() {
+            return (IEventBus) Proxy.newProxyInstance(IEventBus.class.getClassLoader(), new Class<?>[]{IEventBus.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("add") || method.getName().equals("register")) {
+                registrations++;
+            }
+            try {
+                return method.invoke(delegate, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}